@@ -0,0 +1,376 @@
+package com.production.microservices.microservicea.loadtest;
+
+import com.production.microservices.microservicea.MicroserviceAApplication;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-process load test for the product API.
+ *
+ * Boots the application against embedded H2 (profile "loadtest"), seeds a catalog,
+ * then sends requests at a fixed arrival rate regardless of how fast responses come
+ * back (open model). Latency is measured from each request's intended send time, so
+ * a stalled server is charged for the requests it delayed as well as the one it was
+ * serving (coordinated-omission correction). Results are compared against a stored
+ * baseline and the process exits non-zero on regression, or when there is no baseline
+ * to compare against.
+ */
+public final class LoadTestHarness {
+
+    private static final String[] WORDS = {
+        "laptop", "mouse", "keyboard", "monitor", "webcam", "headset", "charger", "cable",
+        "speaker", "tablet", "router", "drive", "dock", "stand", "lamp", "adapter"
+    };
+
+    private static final long MAX_TRACKED_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    private static final String USAGE = "Usage: ./gradlew loadTest [-PloadTest.rate=<requests/s > 0>]"
+            + " [-PloadTest.catalogSize=<n > 0>] [-PloadTest.warmupSeconds=<n >= 0>]"
+            + " [-PloadTest.durationSeconds=<n > 0>] [-PloadTest.mix=read=70,search=15,range=10,write=5]"
+            + " [-PloadTest.tolerance=<fraction>] [-PloadTest.maxErrorRate=<fraction>]"
+            + " [-PloadTest.updateBaseline=true]";
+
+    enum Operation { READ, SEARCH, RANGE, WRITE }
+
+    private final Settings settings;
+    private final HttpClient httpClient;
+    private final String baseUrl;
+
+    private final Histogram overall = newHistogram();
+    private final Map<Operation, Histogram> byOperation = new EnumMap<>(Operation.class);
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong lastCompletionNanos = new AtomicLong();
+
+    private LoadTestHarness(Settings settings, int port) {
+        this.settings = settings;
+        this.baseUrl = "http://localhost:" + port + "/api/v1/products";
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (Operation operation : Operation.values()) {
+            byOperation.put(operation, newHistogram());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings;
+        try {
+            settings = Settings.fromSystemProperties();
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid load test settings: " + e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        System.out.println("Load test settings: " + settings);
+
+        int exitCode;
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MicroserviceAApplication.class)
+                .profiles("loadtest")
+                .run(args);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            seedCatalog(context.getBean(JdbcTemplate.class), settings.catalogSize());
+
+            LoadTestHarness harness = new LoadTestHarness(settings, port);
+            Properties results = harness.run(executor);
+            exitCode = evaluate(settings, results);
+        } finally {
+            context.close();
+        }
+        System.exit(exitCode);
+    }
+
+    private static void seedCatalog(JdbcTemplate jdbcTemplate, int catalogSize) {
+        Random random = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(catalogSize);
+        for (int i = 1; i <= catalogSize; i++) {
+            String word = WORDS[i % WORDS.length];
+            rows.add(new Object[] {
+                "Product " + i + " " + word,
+                "Seeded " + word + " for load testing",
+                1 + random.nextInt(200_000) / 100.0,
+                random.nextInt(500),
+                now,
+                now
+            });
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO products (name, description, price, quantity, active, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, ?, true, ?, ?)",
+                rows);
+        System.out.println("Seeded " + catalogSize + " products");
+    }
+
+    private Properties run(ExecutorService executor) throws InterruptedException {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / settings.rate());
+        long start = System.nanoTime();
+        long measureStart = start + TimeUnit.SECONDS.toNanos(settings.warmupSeconds());
+        long end = measureStart + TimeUnit.SECONDS.toNanos(settings.durationSeconds());
+        long sent = 0;
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = settings.pick(ThreadLocalRandom.current().nextInt(settings.totalWeight()));
+            boolean measured = intended >= measureStart;
+            executor.execute(() -> send(operation, intended, measured));
+            if (measured) {
+                sent++;
+            }
+        }
+
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            System.out.println("Requests still outstanding after 30s; reporting what completed");
+            executor.shutdownNow();
+        }
+
+        double elapsedSeconds = Math.max(lastCompletionNanos.get() - measureStart, end - measureStart) / 1e9;
+        long completed = overall.getTotalCount();
+
+        Properties results = new Properties();
+        results.setProperty("requests", Long.toString(sent));
+        results.setProperty("errors", Long.toString(errors.get()));
+        results.setProperty("throughput", format(completed / elapsedSeconds));
+        putPercentiles(results, "overall", overall);
+        byOperation.forEach((operation, histogram) ->
+                putPercentiles(results, operation.name().toLowerCase(Locale.ROOT), histogram));
+        return results;
+    }
+
+    private void send(Operation operation, long intendedNanos, boolean measured) {
+        boolean ok;
+        try {
+            HttpResponse<Void> response = httpClient.send(request(operation), HttpResponse.BodyHandlers.discarding());
+            ok = response.statusCode() < 400;
+        } catch (IOException e) {
+            ok = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ok = false;
+        }
+
+        long now = System.nanoTime();
+        if (!measured) {
+            return;
+        }
+        if (!ok) {
+            errors.incrementAndGet();
+        }
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(now - intendedNanos), MAX_TRACKED_MICROS);
+        overall.recordValue(micros);
+        byOperation.get(operation).recordValue(micros);
+        lastCompletionNanos.accumulateAndGet(now, Math::max);
+    }
+
+    private HttpRequest request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int id = 1 + random.nextInt(settings.catalogSize());
+        String word = WORDS[random.nextInt(WORDS.length)];
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(Duration.ofSeconds(10));
+
+        switch (operation) {
+            case READ -> builder.uri(URI.create(baseUrl + "/" + id)).GET();
+            case SEARCH -> builder.uri(URI.create(baseUrl + "/search?name=" + word)).GET();
+            case RANGE -> {
+                int min = random.nextInt(1900);
+                builder.uri(URI.create(baseUrl + "/price-range?minPrice=" + min + "&maxPrice=" + (min + 50))).GET();
+            }
+            case WRITE -> {
+                String body = String.format(Locale.ROOT,
+                        "{\"name\":\"Product %d %s\",\"description\":\"Updated %s\",\"price\":%.2f,\"quantity\":%d,\"active\":true}",
+                        id, word, word, 1 + random.nextInt(200_000) / 100.0, random.nextInt(500));
+                builder.uri(URI.create(baseUrl + "/" + id))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(body));
+            }
+        }
+        return builder.build();
+    }
+
+    private static int evaluate(Settings settings, Properties results) throws IOException {
+        System.out.println();
+        System.out.println("Load test results (latency in ms, corrected for coordinated omission)");
+        System.out.printf(Locale.ROOT, "  %-8s %10s %10s %10s %10s%n", "", "count", "p50", "p99", "p99.9");
+        for (String name : List.of("overall", "read", "search", "range", "write")) {
+            System.out.printf(Locale.ROOT, "  %-8s %10s %10s %10s %10s%n", name,
+                    results.getProperty(name + ".count"), results.getProperty(name + ".p50"),
+                    results.getProperty(name + ".p99"), results.getProperty(name + ".p999"));
+        }
+        System.out.println("  throughput: " + results.getProperty("throughput") + " req/s, errors: "
+                + results.getProperty("errors") + " of " + results.getProperty("requests"));
+
+        Files.createDirectories(settings.report().getParent());
+        store(results, settings.report(), "Load test results");
+
+        if (settings.updateBaseline()) {
+            store(results, settings.baseline(), "Load test baseline");
+            System.out.println("Baseline updated: " + settings.baseline());
+            return 0;
+        }
+
+        List<String> failures = new ArrayList<>();
+        long requests = Long.parseLong(results.getProperty("requests"));
+        double errorRate = requests == 0 ? 0 : Double.parseDouble(results.getProperty("errors")) / requests;
+        if (errorRate > settings.maxErrorRate()) {
+            failures.add(String.format(Locale.ROOT, "error rate %.4f exceeds %.4f", errorRate, settings.maxErrorRate()));
+        }
+
+        if (!Files.exists(settings.baseline())) {
+            // Without a baseline there is nothing to gate on, so a silent pass would hide regressions
+            failures.add("no baseline at " + settings.baseline()
+                    + "; run with -PloadTest.updateBaseline=true to record one");
+        } else {
+            Properties baseline = new Properties();
+            try (Reader reader = Files.newBufferedReader(settings.baseline())) {
+                baseline.load(reader);
+            }
+            double tolerance = settings.tolerance();
+            for (String key : List.of("overall.p50", "overall.p99", "overall.p999")) {
+                double limit = Double.parseDouble(baseline.getProperty(key)) * (1 + tolerance);
+                double actual = Double.parseDouble(results.getProperty(key));
+                if (actual > limit) {
+                    failures.add(String.format(Locale.ROOT, "%s %.3f ms exceeds baseline limit %.3f ms", key, actual, limit));
+                }
+            }
+            double minThroughput = Double.parseDouble(baseline.getProperty("throughput")) * (1 - tolerance);
+            double throughput = Double.parseDouble(results.getProperty("throughput"));
+            if (throughput < minThroughput) {
+                failures.add(String.format(Locale.ROOT, "throughput %.1f req/s below baseline limit %.1f req/s",
+                        throughput, minThroughput));
+            }
+        }
+
+        if (failures.isEmpty()) {
+            System.out.println("Load test passed");
+            return 0;
+        }
+        failures.forEach(failure -> System.out.println("REGRESSION: " + failure));
+        return 1;
+    }
+
+    private static void putPercentiles(Properties results, String prefix, Histogram histogram) {
+        results.setProperty(prefix + ".count", Long.toString(histogram.getTotalCount()));
+        results.setProperty(prefix + ".p50", format(histogram.getValueAtPercentile(50.0) / 1000.0));
+        results.setProperty(prefix + ".p99", format(histogram.getValueAtPercentile(99.0) / 1000.0));
+        results.setProperty(prefix + ".p999", format(histogram.getValueAtPercentile(99.9) / 1000.0));
+    }
+
+    private static void store(Properties properties, Path path, String comment) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path)) {
+            properties.store(writer, comment);
+        }
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static Histogram newHistogram() {
+        return new ConcurrentHistogram(MAX_TRACKED_MICROS, 3);
+    }
+
+    /**
+     * Harness settings, read from loadtest.* system properties (set by the Gradle task).
+     */
+    record Settings(int catalogSize, double rate, int warmupSeconds, int durationSeconds,
+                    Map<Operation, Integer> mix, double tolerance, double maxErrorRate,
+                    boolean updateBaseline, Path baseline, Path report) {
+
+        Settings {
+            // The pacing interval is derived from the rate, so zero or a negative rate cannot be run
+            if (!(rate > 0) || Double.isInfinite(rate)) {
+                throw new IllegalArgumentException("loadtest.rate must be a positive number of requests per second: " + rate);
+            }
+            if (catalogSize <= 0) {
+                throw new IllegalArgumentException("loadtest.catalogSize must be positive: " + catalogSize);
+            }
+            if (warmupSeconds < 0 || durationSeconds <= 0) {
+                throw new IllegalArgumentException("loadtest.warmupSeconds must be >= 0 and loadtest.durationSeconds > 0: "
+                        + warmupSeconds + ", " + durationSeconds);
+            }
+        }
+
+        static Settings fromSystemProperties() {
+            return new Settings(
+                    Integer.getInteger("loadtest.catalogSize", 10_000),
+                    Double.parseDouble(System.getProperty("loadtest.rate", "200")),
+                    Integer.getInteger("loadtest.warmupSeconds", 10),
+                    Integer.getInteger("loadtest.durationSeconds", 30),
+                    parseMix(System.getProperty("loadtest.mix", "read=70,search=15,range=10,write=5")),
+                    Double.parseDouble(System.getProperty("loadtest.tolerance", "0.20")),
+                    Double.parseDouble(System.getProperty("loadtest.maxErrorRate", "0.01")),
+                    Boolean.getBoolean("loadtest.updateBaseline"),
+                    Path.of(System.getProperty("loadtest.baseline", "src/loadTest/baseline.properties")),
+                    Path.of(System.getProperty("loadtest.report", "build/reports/load-test/results.properties")));
+        }
+
+        private static Map<Operation, Integer> parseMix(String spec) {
+            Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+            for (String entry : spec.split(",")) {
+                String[] parts = entry.trim().split("=");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Invalid loadtest.mix entry: " + entry);
+                }
+                mix.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1].trim()));
+            }
+            if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+                throw new IllegalArgumentException("loadtest.mix must have a positive total weight: " + spec);
+            }
+            return mix;
+        }
+
+        int totalWeight() {
+            return mix.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        Operation pick(int roll) {
+            for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+                roll -= entry.getValue();
+                if (roll < 0) {
+                    return entry.getKey();
+                }
+            }
+            throw new IllegalStateException("Roll outside total weight");
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.production.microservices.microservicea.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Bulkheaded connection pools.
+ *
+ * Read-only transactions, read-write transactions and health checks each get their own
+ * Hikari pool, so a burst of slow reads cannot starve writes or readiness probes. The
+ * primary DataSource defers fetching a physical connection until the first statement,
+ * by which time the transaction manager has marked it read-only or not, and routes to
+ * the read or write pool accordingly. Pool sizes and timeouts are set under
+ * app.datasource.{read,write,health}.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("app.datasource.write")
+    public HikariDataSource writeDataSource(DataSourceProperties properties) {
+        return createPool(properties, "product-write");
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.read")
+    public HikariDataSource readDataSource(DataSourceProperties properties) {
+        return createPool(properties, "product-read");
+    }
+
+    /**
+     * Small dedicated pool used only by HealthController.
+     */
+    @Bean
+    @ConfigurationProperties("app.datasource.health")
+    public HikariDataSource healthDataSource(DataSourceProperties properties) {
+        return createPool(properties, "product-health");
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("writeDataSource") HikariDataSource writeDataSource,
+                                 @Qualifier("readDataSource") HikariDataSource readDataSource,
+                                 @Qualifier("healthDataSource") HikariDataSource healthDataSource,
+                                 MeterRegistry meterRegistry,
+                                 ScalingSignalMetrics scalingSignalMetrics) {
+        for (HikariDataSource pool : new HikariDataSource[] {writeDataSource, readDataSource, healthDataSource}) {
+            registerSaturationGauge(pool, meterRegistry);
+        }
+        LazyConnectionDataSourceProxy routing =
+                new LazyConnectionDataSourceProxy(new TimedDataSource(writeDataSource, scalingSignalMetrics));
+        routing.setReadOnlyDataSource(new TimedDataSource(readDataSource, scalingSignalMetrics));
+        return routing;
+    }
+
+    private static HikariDataSource createPool(DataSourceProperties properties, String poolName) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName(poolName);
+        return pool;
+    }
+
+    /**
+     * Fraction of the pool's connections in use plus threads waiting for one; above 1.0
+     * callers are queueing. Complements the per-pool hikaricp_* metrics.
+     */
+    private static void registerSaturationGauge(HikariDataSource pool, MeterRegistry meterRegistry) {
+        Gauge.builder("db.pool.saturation", pool, DataSourceConfig::saturation)
+                .description("Active plus pending connections relative to maximum pool size")
+                .tag("pool", pool.getPoolName())
+                .register(meterRegistry);
+    }
+
+    private static double saturation(HikariDataSource pool) {
+        HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+        if (mxBean == null) {
+            return 0.0;
+        }
+        return (double) (mxBean.getActiveConnections() + mxBean.getThreadsAwaitingConnection())
+                / pool.getMaximumPoolSize();
+    }
+}
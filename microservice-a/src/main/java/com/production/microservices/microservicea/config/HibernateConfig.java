@@ -0,0 +1,21 @@
+package com.production.microservices.microservicea.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hooks SQL statement counting into Hibernate.
+ */
+@Configuration
+public class HibernateConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter.Inspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlStatementCounter.TimingListener.class.getName());
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.production.microservices.microservicea.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Counts application requests in flight so shutdown can wait for them, and times them
+ * for the autoscaling latency signal. Kubernetes probes under /health are not counted.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class InFlightRequestFilter extends OncePerRequestFilter {
+
+    private final ShutdownCoordinator shutdownCoordinator;
+    private final ScalingSignalMetrics scalingSignalMetrics;
+
+    @Autowired
+    public InFlightRequestFilter(ShutdownCoordinator shutdownCoordinator, ScalingSignalMetrics scalingSignalMetrics) {
+        this.shutdownCoordinator = shutdownCoordinator;
+        this.scalingSignalMetrics = scalingSignalMetrics;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/health/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        shutdownCoordinator.requestStarted();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            shutdownCoordinator.requestFinished();
+            scalingSignalMetrics.recordRequest(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.production.microservices.microservicea.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-pod load signals for the HorizontalPodAutoscaler, published on /actuator/prometheus.
+ *
+ * - app_scaling_inflight_requests: application requests currently being served
+ * - app_scaling_request_latency_seconds{quantile="0.95"}: p95 request latency over a
+ *   sliding window
+ * - app_scaling_queue_time_seconds{quantile="0.95"}: p95 wait for a database connection
+ *   over the same window; for this I/O-bound service the connection pool is where
+ *   requests queue
+ *
+ * The p95 is the timer's own published percentile, so there is one source for the HPA
+ * and for dashboards. It comes from Micrometer's time-windowed histograms, which decay
+ * old samples by rotating a small ring of buckets, so recording stays a few atomic updates.
+ */
+@Component
+public class ScalingSignalMetrics {
+
+    private static final int WINDOW_BUCKETS = 6;
+
+    private final Timer requestLatency;
+    private final Timer queueTime;
+
+    @Autowired
+    public ScalingSignalMetrics(MeterRegistry meterRegistry,
+                                ShutdownCoordinator shutdownCoordinator,
+                                @Value("${app.scaling.latency-window:60s}") Duration window) {
+        this.requestLatency = windowedTimer(meterRegistry, "app.scaling.request.latency",
+                "Application request latency", window);
+        this.queueTime = windowedTimer(meterRegistry, "app.scaling.queue.time",
+                "Time spent waiting for a database connection", window);
+
+        Gauge.builder("app.scaling.inflight.requests", shutdownCoordinator, ShutdownCoordinator::getInFlightRequests)
+                .description("Application requests currently in flight")
+                .register(meterRegistry);
+    }
+
+    public void recordRequest(long nanos) {
+        requestLatency.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordConnectionWait(long nanos) {
+        queueTime.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer windowedTimer(MeterRegistry meterRegistry, String name, String description, Duration window) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentiles(0.95)
+                .distributionStatisticExpiry(window)
+                .distributionStatisticBufferLength(WINDOW_BUCKETS)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,128 @@
+package com.production.microservices.microservicea.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Coordinates a zero-error drain on shutdown.
+ *
+ * Stops before the embedded web server and the connection pool. On stop it reports
+ * not-ready immediately, keeps serving for the endpoint-propagation delay so load
+ * balancers and kube-proxy stop routing to the pod, then waits for in-flight requests
+ * to finish up to the drain timeout. The web server's graceful shutdown and the pool
+ * close run only after this returns.
+ *
+ * The propagation delay is the only pre-shutdown wait: the chart has no preStop sleep,
+ * so SIGTERM reaches the application straight away.
+ */
+@Component
+public class ShutdownCoordinator implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShutdownCoordinator.class);
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration propagationDelay;
+    private final Duration drainTimeout;
+
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+    private final Object drained = new Object();
+    private volatile boolean running;
+    private volatile boolean draining;
+
+    @Autowired
+    public ShutdownCoordinator(ApplicationEventPublisher eventPublisher,
+                               @Value("${app.shutdown.propagation-delay:5s}") Duration propagationDelay,
+                               @Value("${app.shutdown.drain-timeout:20s}") Duration drainTimeout) {
+        this.eventPublisher = eventPublisher;
+        this.propagationDelay = propagationDelay;
+        this.drainTimeout = drainTimeout;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        draining = true;
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        logger.info("Shutdown started - readiness DOWN, waiting {} ms for endpoint propagation",
+                   propagationDelay.toMillis());
+
+        try {
+            Thread.sleep(propagationDelay.toMillis());
+            awaitDrained();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        int remaining = inFlightRequests.get();
+        if (remaining > 0) {
+            logger.warn("Drain timeout of {} ms reached with {} requests still in flight",
+                       drainTimeout.toMillis(), remaining);
+        } else {
+            logger.info("All in-flight requests drained");
+        }
+        running = false;
+    }
+
+    /**
+     * Wait until the in-flight count reaches zero or the drain timeout passes.
+     * requestFinished() signals when the count reaches zero while draining.
+     */
+    private void awaitDrained() throws InterruptedException {
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+        synchronized (drained) {
+            long remainingNanos;
+            while (inFlightRequests.get() > 0 && (remainingNanos = deadline - System.nanoTime()) > 0) {
+                TimeUnit.NANOSECONDS.timedWait(drained, remainingNanos);
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stop first: the web server and connection pool shut down in lower phases.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE;
+    }
+
+    public boolean isDraining() {
+        return draining;
+    }
+
+    public void requestStarted() {
+        inFlightRequests.incrementAndGet();
+    }
+
+    public void requestFinished() {
+        // Only take the lock once draining, so the request path stays lock-free
+        if (inFlightRequests.decrementAndGet() == 0 && draining) {
+            synchronized (drained) {
+                drained.notifyAll();
+            }
+        }
+    }
+
+    public int getInFlightRequests() {
+        return inFlightRequests.get();
+    }
+}
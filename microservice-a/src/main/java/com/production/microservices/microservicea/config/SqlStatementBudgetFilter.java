@@ -0,0 +1,94 @@
+package com.production.microservices.microservicea.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL statements each request runs, records them per endpoint, and warns
+ * when a request exceeds the statement budget or repeats one statement often enough
+ * to suggest an N+1 query.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementBudgetFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+    private final int repeatedStatementThreshold;
+
+    @Autowired
+    public SqlStatementBudgetFilter(MeterRegistry meterRegistry,
+                                    @Value("${app.sql.statement-budget:10}") int statementBudget,
+                                    @Value("${app.sql.repeated-statement-threshold:5}") int repeatedStatementThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/health/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementCounter.Stats stats = SqlStatementCounter.begin();
+        request.setAttribute(SqlStatementCounter.REQUEST_ATTRIBUTE, stats);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementCounter.end();
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementCounter.Stats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+        int count = stats.statementCount();
+
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("SQL statements run per request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(count);
+        Timer.builder("http.server.requests.sql.time")
+                .description("Time spent executing SQL per request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.executionNanos(), TimeUnit.NANOSECONDS);
+
+        if (count > statementBudget) {
+            logger.warn("{} {} ran {} SQL statements (budget {})", method, uri, count, statementBudget);
+        }
+        Map.Entry<String, Integer> repeated = stats.mostRepeatedStatement();
+        if (repeated != null && repeated.getValue() >= repeatedStatementThreshold) {
+            logger.warn("Possible N+1 on {} {}: statement ran {} times: {}",
+                       method, uri, repeated.getValue(), repeated.getKey());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.production.microservices.microservicea.config;
+
+import org.hibernate.SessionEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-request count of SQL statements issued through Hibernate and the time spent
+ * executing them.
+ *
+ * SqlStatementBudgetFilter opens a scope for each HTTP request; Hibernate reports
+ * into the current thread's scope through {@link Inspector} (statement text) and
+ * {@link TimingListener} (execution time). Statements run outside any scope are
+ * ignored. Tests can open a scope directly with {@link #begin()} and {@link #end()}.
+ */
+public final class SqlStatementCounter {
+
+    /**
+     * Request attribute holding the request's {@link Stats}.
+     */
+    public static final String REQUEST_ATTRIBUTE = SqlStatementCounter.class.getName() + ".STATS";
+
+    private static final ThreadLocal<Stats> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    public static Stats begin() {
+        Stats stats = new Stats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * The current thread's scope, or null if none is open.
+     */
+    public static Stats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Make another thread report into an existing scope; pass null to detach.
+     */
+    public static void attach(Stats stats) {
+        if (stats == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(stats);
+        }
+    }
+
+    /**
+     * Statement counts and DB time for one scope. Safe to share across threads.
+     */
+    public static final class Stats {
+
+        private final AtomicInteger statementCount = new AtomicInteger();
+        private final AtomicLong executionNanos = new AtomicLong();
+        private final Map<String, Integer> statements = new ConcurrentHashMap<>();
+
+        void statementPrepared(String sql) {
+            statementCount.incrementAndGet();
+            statements.merge(sql, 1, Integer::sum);
+        }
+
+        void statementExecuted(long nanos) {
+            executionNanos.addAndGet(nanos);
+        }
+
+        public int statementCount() {
+            return statementCount.get();
+        }
+
+        public long executionNanos() {
+            return executionNanos.get();
+        }
+
+        /**
+         * Distinct statement text mapped to how often it ran.
+         */
+        public Map<String, Integer> statements() {
+            return Map.copyOf(statements);
+        }
+
+        /**
+         * The statement that ran most often, or null if none ran.
+         */
+        public Map.Entry<String, Integer> mostRepeatedStatement() {
+            return statements.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+                    .orElse(null);
+        }
+    }
+
+    /**
+     * Registered as Hibernate's statement inspector; counts statements without changing them.
+     */
+    public static class Inspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            Stats stats = CURRENT.get();
+            if (stats != null) {
+                stats.statementPrepared(sql);
+            }
+            return sql;
+        }
+    }
+
+    /**
+     * Registered as an automatic Hibernate session listener; times statement execution.
+     * Hibernate creates one instance per session.
+     */
+    public static class TimingListener implements SessionEventListener {
+
+        private long executeStart;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            executeStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            Stats stats = CURRENT.get();
+            if (stats != null) {
+                stats.statementExecuted(System.nanoTime() - executeStart);
+            }
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            executeStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            jdbcExecuteStatementEnd();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.production.microservices.microservicea.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Records how long each connection checkout from the pool takes, i.e. pool queueing time.
+ */
+public class TimedDataSource extends DelegatingDataSource {
+
+    private final ScalingSignalMetrics scalingSignalMetrics;
+
+    public TimedDataSource(DataSource targetDataSource, ScalingSignalMetrics scalingSignalMetrics) {
+        super(targetDataSource);
+        this.scalingSignalMetrics = scalingSignalMetrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return super.getConnection();
+        } finally {
+            scalingSignalMetrics.recordConnectionWait(System.nanoTime() - start);
+        }
+    }
+}
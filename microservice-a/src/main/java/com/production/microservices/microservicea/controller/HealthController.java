@@ -1,11 +1,14 @@
 package com.production.microservices.microservicea.controller;
 
-import com.production.microservices.microservicea.service.ProductService;
+import com.production.microservices.microservicea.config.ShutdownCoordinator;
+import com.production.microservices.microservicea.service.ParallelReads;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -23,13 +26,20 @@ public class HealthController {
     
     private static final Logger logger = LoggerFactory.getLogger(HealthController.class);
     
+    // Probes use their own small pool so saturated read/write pools cannot fail them
     private final DataSource dataSource;
-    private final ProductService productService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ShutdownCoordinator shutdownCoordinator;
+    private final ParallelReads parallelReads;
     
     @Autowired
-    public HealthController(DataSource dataSource, ProductService productService) {
+    public HealthController(@Qualifier("healthDataSource") DataSource dataSource,
+                            ShutdownCoordinator shutdownCoordinator,
+                            ParallelReads parallelReads) {
         this.dataSource = dataSource;
-        this.productService = productService;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.shutdownCoordinator = shutdownCoordinator;
+        this.parallelReads = parallelReads;
     }
     
     /**
@@ -54,34 +64,28 @@ public class HealthController {
         Map<String, Object> response = new HashMap<>();
         Map<String, Object> checks = new HashMap<>();
         
-        boolean isReady = true;
-        
-        // Check database connectivity
-        try {
-            try (Connection connection = dataSource.getConnection()) {
-                boolean dbValid = connection.isValid(5); // 5 second timeout
-                checks.put("database", dbValid ? "UP" : "DOWN");
-                if (!dbValid) {
-                    isReady = false;
-                }
-            }
-        } catch (SQLException e) {
-            logger.error("Database health check failed", e);
-            checks.put("database", "DOWN");
-            checks.put("databaseError", e.getMessage());
-            isReady = false;
+        // Once shutdown has started, report DOWN without touching the database
+        if (shutdownCoordinator.isDraining()) {
+            checks.put("shutdown", "DRAINING");
+            response.put("status", "DOWN");
+            response.put("timestamp", LocalDateTime.now());
+            response.put("checks", checks);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
         }
         
-        // Check if we can access the service layer
+        // The connection check and the table query are independent, so run them concurrently
         try {
-            productService.getTotalActiveProductsCount();
-            checks.put("productService", "UP");
+            checks.putAll(parallelReads.both(this::checkDatabase, this::checkProductTable, (database, productTable) -> {
+                Map<String, Object> results = new HashMap<>(database);
+                results.putAll(productTable);
+                return results;
+            }));
         } catch (Exception e) {
-            logger.error("Product service health check failed", e);
-            checks.put("productService", "DOWN");
-            checks.put("serviceError", e.getMessage());
-            isReady = false;
+            logger.error("Readiness checks did not complete", e);
+            checks.put("readiness", "DOWN");
+            checks.put("readinessError", e.getMessage());
         }
+        boolean isReady = !checks.containsValue("DOWN");
         
         response.put("status", isReady ? "UP" : "DOWN");
         response.put("timestamp", LocalDateTime.now());
@@ -91,6 +95,32 @@ public class HealthController {
                            .body(response);
     }
     
+    private Map<String, Object> checkDatabase() {
+        Map<String, Object> checks = new HashMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            boolean dbValid = connection.isValid(5); // 5 second timeout
+            checks.put("database", dbValid ? "UP" : "DOWN");
+        } catch (SQLException e) {
+            logger.error("Database health check failed", e);
+            checks.put("database", "DOWN");
+            checks.put("databaseError", e.getMessage());
+        }
+        return checks;
+    }
+    
+    private Map<String, Object> checkProductTable() {
+        Map<String, Object> checks = new HashMap<>();
+        try {
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products WHERE active = true", Long.class);
+            checks.put("productTable", "UP");
+        } catch (Exception e) {
+            logger.error("Product table health check failed", e);
+            checks.put("productTable", "DOWN");
+            checks.put("productTableError", e.getMessage());
+        }
+        return checks;
+    }
+    
     /**
      * Startup probe - used by Kubernetes to know when the application has started
      * This is particularly useful for slow-starting applications
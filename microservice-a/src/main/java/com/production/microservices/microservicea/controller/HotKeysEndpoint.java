@@ -0,0 +1,35 @@
+package com.production.microservices.microservicea.controller;
+
+import com.production.microservices.microservicea.service.HotKeyTracker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint listing the hottest product IDs and search terms (/actuator/hotkeys)
+ */
+@Component
+@Endpoint(id = "hotkeys")
+public class HotKeysEndpoint {
+
+    private final HotKeyTracker hotKeyTracker;
+
+    @Autowired
+    public HotKeysEndpoint(HotKeyTracker hotKeyTracker) {
+        this.hotKeyTracker = hotKeyTracker;
+    }
+
+    @ReadOperation
+    public Map<String, Object> hotKeys() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("products", hotKeyTracker.topProducts());
+        response.put("searchTerms", hotKeyTracker.topSearchTerms());
+        response.put("timestamp", LocalDateTime.now());
+        return response;
+    }
+}
@@ -0,0 +1,81 @@
+package com.production.microservices.microservicea.controller;
+
+import com.production.microservices.microservicea.entity.PriceAdjustmentJob;
+import com.production.microservices.microservicea.service.PriceAdjustmentService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/products/price-adjustments")
+@CrossOrigin(origins = "*")
+public class PriceAdjustmentController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PriceAdjustmentController.class);
+    
+    private final PriceAdjustmentService priceAdjustmentService;
+    
+    @Autowired
+    public PriceAdjustmentController(PriceAdjustmentService priceAdjustmentService) {
+        this.priceAdjustmentService = priceAdjustmentService;
+    }
+    
+    /**
+     * Start a bulk price adjustment, e.g. +5% on everything under $50:
+     * {"maxPrice": 50, "adjustmentType": "PERCENT", "adjustmentValue": 5, "rounding": "HALF_UP"}
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> createJob(@Valid @RequestBody PriceAdjustmentJob request) {
+        logger.info("POST /api/v1/products/price-adjustments - {} {}", 
+                   request.getAdjustmentType(), request.getAdjustmentValue());
+        
+        try {
+            PriceAdjustmentJob job = priceAdjustmentService.createJob(request);
+            Map<String, Object> response = new HashMap<>();
+            response.put("job", job);
+            response.put("message", "Price adjustment job accepted");
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+            
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Invalid price adjustment");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (Exception e) {
+            logger.error("Error creating price adjustment job", e);
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to create price adjustment job");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
+    /**
+     * Get a price adjustment job and its progress
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> getJob(@PathVariable Long id) {
+        logger.info("GET /api/v1/products/price-adjustments/{}", id);
+        
+        return priceAdjustmentService.getJob(id)
+                .map(job -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("job", job);
+                    response.put("progressPercent", job.getProgressPercent());
+                    return ResponseEntity.ok(response);
+                })
+                .orElseGet(() -> {
+                    Map<String, Object> errorResponse = new HashMap<>();
+                    errorResponse.put("error", "Price adjustment job not found");
+                    errorResponse.put("id", id);
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+                });
+    }
+}
@@ -1,7 +1,10 @@
 package com.production.microservices.microservicea.controller;
 
 import com.production.microservices.microservicea.entity.Product;
+import com.production.microservices.microservicea.service.HotKeyTracker;
+import com.production.microservices.microservicea.service.ParallelReads;
 import com.production.microservices.microservicea.service.ProductService;
+import com.production.microservices.microservicea.service.RequestCoalescer;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,9 +17,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/products")
@@ -26,10 +33,17 @@ public class ProductController {
     private static final Logger logger = LoggerFactory.getLogger(ProductController.class);
     
     private final ProductService productService;
+    private final RequestCoalescer requestCoalescer;
+    private final HotKeyTracker hotKeyTracker;
+    private final ParallelReads parallelReads;
     
     @Autowired
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, RequestCoalescer requestCoalescer,
+                             HotKeyTracker hotKeyTracker, ParallelReads parallelReads) {
         this.productService = productService;
+        this.requestCoalescer = requestCoalescer;
+        this.hotKeyTracker = hotKeyTracker;
+        this.parallelReads = parallelReads;
     }
     
     /**
@@ -51,11 +65,16 @@ public class ProductController {
                        Sort.by(sortBy).ascending();
             
             Pageable pageable = PageRequest.of(page, size, sort);
-            List<Product> products = productService.getAllActiveProducts();
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("products", products);
-            response.put("totalCount", productService.getTotalActiveProductsCount());
+            // The list and the count are independent reads, so run them concurrently
+            Map<String, Object> response = parallelReads.both(
+                    productService::getAllActiveProducts,
+                    productService::getTotalActiveProductsCount,
+                    (products, totalCount) -> {
+                        Map<String, Object> body = new HashMap<>();
+                        body.put("products", products);
+                        body.put("totalCount", totalCount);
+                        return body;
+                    });
             response.put("currentPage", page);
             response.put("pageSize", size);
             
@@ -76,9 +95,10 @@ public class ProductController {
     @GetMapping("/{id}")
     public ResponseEntity<Map<String, Object>> getProductById(@PathVariable Long id) {
         logger.info("GET /api/v1/products/{}", id);
-        
-        return productService.getProductById(id)
+        return requestCoalescer.execute("getProductById", id, () -> productService.getProductById(id))
                 .map(product -> {
+                    // Only ids that exist, so probes for missing ids cannot crowd out real hot keys
+                    hotKeyTracker.recordProductRead(id);
                     Map<String, Object> response = new HashMap<>();
                     response.put("product", product);
                     return ResponseEntity.ok(response);
@@ -91,6 +111,63 @@ public class ProductController {
                 });
     }
     
+    /**
+     * Get several products by ID, e.g. GET /api/v1/products?ids=1,2,3
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<Map<String, Object>> getProductsByIds(@RequestParam List<Long> ids) {
+        logger.info("GET /api/v1/products?ids - {} ids", ids.size());
+        return batchLookup(ids);
+    }
+    
+    /**
+     * Get several products by ID from a JSON array body
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<Map<String, Object>> getProductsByIdsBatch(@RequestBody List<Long> ids) {
+        logger.info("POST /api/v1/products/batch - {} ids", ids.size());
+        return batchLookup(ids);
+    }
+    
+    private ResponseEntity<Map<String, Object>> batchLookup(List<Long> ids) {
+        if (ids.isEmpty() || ids.contains(null)) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "At least one non-null id is required");
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+        
+        try {
+            Map<Long, Product> found = productService.getProductsByIds(ids);
+            // One read per distinct product found, as for single lookups
+            found.keySet().forEach(hotKeyTracker::recordProductRead);
+            Set<Long> missingIds = new LinkedHashSet<>();
+            for (Long id : ids) {
+                if (!found.containsKey(id)) {
+                    missingIds.add(id);
+                }
+            }
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("products", new ArrayList<>(found.values()));
+            response.put("count", found.size());
+            response.put("missingIds", missingIds);
+            return ResponseEntity.ok(response);
+            
+        } catch (IllegalArgumentException e) {
+            // The service enforces app.batch.max-ids before it queries
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Invalid batch request");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (Exception e) {
+            logger.error("Error fetching products by ids", e);
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to fetch products");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
     /**
      * Create a new product
      */
@@ -168,10 +245,14 @@ public class ProductController {
             @RequestParam(defaultValue = "10") int size) {
         
         logger.info("GET /api/v1/products/search - name: {}, page: {}, size: {}", name, page, size);
+        hotKeyTracker.recordSearch(name);
         
         try {
             Pageable pageable = PageRequest.of(page, size);
-            Page<Product> productPage = productService.searchProductsByName(name, pageable);
+            // The name match is case-insensitive, so differently-cased searches share one load
+            String key = name.toLowerCase(Locale.ROOT) + '|' + page + '|' + size;
+            Page<Product> productPage = requestCoalescer.execute("searchProductsByName", key,
+                    () -> productService.searchProductsByName(name, pageable));
             
             Map<String, Object> response = new HashMap<>();
             response.put("products", productPage.getContent());
@@ -191,6 +272,29 @@ public class ProductController {
         }
     }
     
+    /**
+     * Autocomplete product names from the in-memory index; never touches the database
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<Map<String, Object>> suggestProducts(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "5") int limit) {
+        
+        // Not logged per call: the search box calls this on every keystroke
+        if (prefix.isBlank() || limit < 1) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Invalid suggest request");
+            errorResponse.put("message", "prefix must not be blank and limit must be at least 1");
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+        
+        List<String> suggestions = productService.suggestProductNames(prefix, limit);
+        Map<String, Object> response = new HashMap<>();
+        response.put("prefix", prefix);
+        response.put("suggestions", suggestions);
+        return ResponseEntity.ok(response);
+    }
+    
     /**
      * Get products in price range
      */
@@ -202,7 +306,8 @@ public class ProductController {
         logger.info("GET /api/v1/products/price-range - min: {}, max: {}", minPrice, maxPrice);
         
         try {
-            List<Product> products = productService.getProductsInPriceRange(minPrice, maxPrice);
+            List<Product> products = requestCoalescer.execute("getProductsInPriceRange", minPrice + "|" + maxPrice,
+                    () -> productService.getProductsInPriceRange(minPrice, maxPrice));
             Map<String, Object> response = new HashMap<>();
             response.put("products", products);
             response.put("count", products.size());
@@ -229,7 +334,8 @@ public class ProductController {
         logger.info("GET /api/v1/products/low-stock - threshold: {}", threshold);
         
         try {
-            List<Product> products = productService.getLowStockProducts(threshold);
+            List<Product> products = requestCoalescer.execute("getLowStockProducts", threshold,
+                    () -> productService.getLowStockProducts(threshold));
             Map<String, Object> response = new HashMap<>();
             response.put("products", products);
             response.put("count", products.size());
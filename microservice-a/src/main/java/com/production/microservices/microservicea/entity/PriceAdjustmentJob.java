@@ -0,0 +1,277 @@
+package com.production.microservices.microservicea.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "price_adjustment_jobs")
+@EntityListeners(AuditingEntityListener.class)
+public class PriceAdjustmentJob {
+
+    public enum Status { PENDING, RUNNING, COMPLETED, FAILED }
+
+    public enum AdjustmentType { PERCENT, ABSOLUTE }
+
+    /**
+     * How the adjusted price is rounded to cents
+     */
+    public enum Rounding { HALF_UP, UP, DOWN }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    // Filter: only active products matching every non-null criterion are adjusted
+    @DecimalMin(value = "0.0", message = "Minimum price must not be negative")
+    @Column(precision = 10, scale = 2)
+    private BigDecimal minPrice;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal maxPrice;
+
+    @Column
+    private Integer maxQuantity;
+
+    @Column(length = 255)
+    private String nameContains;
+
+    // Adjustment
+    @NotNull(message = "Adjustment type is required")
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private AdjustmentType adjustmentType;
+
+    @NotNull(message = "Adjustment value is required")
+    @Column(nullable = false, precision = 12, scale = 4)
+    private BigDecimal adjustmentValue;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Rounding rounding = Rounding.HALF_UP;
+
+    @Min(value = 1, message = "Chunk size must be positive")
+    @Column(nullable = false)
+    private Integer chunkSize;
+
+    // Progress
+    @Column(nullable = false)
+    private Long targetMaxId;
+
+    @Column(nullable = false)
+    private Long lastProcessedId = 0L;
+
+    @Column(nullable = false)
+    private Long productsUpdated = 0L;
+
+    @Column(length = 100)
+    private String owner;
+
+    @Column
+    private LocalDateTime heartbeatAt;
+
+    @Column(length = 1000)
+    private String errorMessage;
+
+    @Column
+    private LocalDateTime startedAt;
+
+    @Column
+    private LocalDateTime completedAt;
+
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Default constructor
+    public PriceAdjustmentJob() {}
+
+    /**
+     * Approximate completion, based on how far through the product id range the job is
+     */
+    public int getProgressPercent() {
+        if (status == Status.COMPLETED) {
+            return 100;
+        }
+        if (targetMaxId == null || targetMaxId == 0 || lastProcessedId == null) {
+            return 0;
+        }
+        return (int) Math.min(99, lastProcessedId * 100 / targetMaxId);
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public Integer getMaxQuantity() {
+        return maxQuantity;
+    }
+
+    public void setMaxQuantity(Integer maxQuantity) {
+        this.maxQuantity = maxQuantity;
+    }
+
+    public String getNameContains() {
+        return nameContains;
+    }
+
+    public void setNameContains(String nameContains) {
+        this.nameContains = nameContains;
+    }
+
+    public AdjustmentType getAdjustmentType() {
+        return adjustmentType;
+    }
+
+    public void setAdjustmentType(AdjustmentType adjustmentType) {
+        this.adjustmentType = adjustmentType;
+    }
+
+    public BigDecimal getAdjustmentValue() {
+        return adjustmentValue;
+    }
+
+    public void setAdjustmentValue(BigDecimal adjustmentValue) {
+        this.adjustmentValue = adjustmentValue;
+    }
+
+    public Rounding getRounding() {
+        return rounding;
+    }
+
+    public void setRounding(Rounding rounding) {
+        this.rounding = rounding;
+    }
+
+    public Integer getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(Integer chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public Long getTargetMaxId() {
+        return targetMaxId;
+    }
+
+    public void setTargetMaxId(Long targetMaxId) {
+        this.targetMaxId = targetMaxId;
+    }
+
+    public Long getLastProcessedId() {
+        return lastProcessedId;
+    }
+
+    public void setLastProcessedId(Long lastProcessedId) {
+        this.lastProcessedId = lastProcessedId;
+    }
+
+    public Long getProductsUpdated() {
+        return productsUpdated;
+    }
+
+    public void setProductsUpdated(Long productsUpdated) {
+        this.productsUpdated = productsUpdated;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getHeartbeatAt() {
+        return heartbeatAt;
+    }
+
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) {
+        this.heartbeatAt = heartbeatAt;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
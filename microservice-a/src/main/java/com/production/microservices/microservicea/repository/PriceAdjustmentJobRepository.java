@@ -0,0 +1,9 @@
+package com.production.microservices.microservicea.repository;
+
+import com.production.microservices.microservicea.entity.PriceAdjustmentJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PriceAdjustmentJobRepository extends JpaRepository<PriceAdjustmentJob, Long> {
+}
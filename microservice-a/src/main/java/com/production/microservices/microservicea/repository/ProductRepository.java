@@ -40,4 +40,22 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * Count active products
      */
     long countByActiveTrue();
+    
+    /**
+     * Highest product id, or null if there are no products
+     */
+    @Query("SELECT MAX(p.id) FROM Product p")
+    Long findMaxId();
+    
+    /**
+     * Ids and names of all active products, without loading full entities
+     */
+    @Query("SELECT p.id AS id, p.name AS name FROM Product p WHERE p.active = true")
+    List<ProductNameView> findActiveProductNames();
+    
+    interface ProductNameView {
+        Long getId();
+        
+        String getName();
+    }
 }
\ No newline at end of file
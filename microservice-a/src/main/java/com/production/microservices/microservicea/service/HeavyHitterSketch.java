@@ -0,0 +1,194 @@
+package com.production.microservices.microservicea.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed-memory frequency sketch for finding the most frequent keys in a stream.
+ *
+ * A count-min sketch estimates every key's frequency; the keys with the highest
+ * estimates are kept in a small top-K set. Counting is lock-free, and so is raising
+ * the count of a key already in the top-K set: a plain map read, then a CAS on that
+ * key's counter only if the estimate grew. The set itself only changes when a new
+ * key's estimate beats the current smallest entry, and then only if its lock is free,
+ * so a contended update is dropped rather than waited for.
+ * Counters are halved after every 10 x width additions so the sketch follows the
+ * recent workload. Halving is left to the owner, through {@link #decayIfDue()} on a
+ * background thread, so no recording thread ever pays for it.
+ */
+public class HeavyHitterSketch<K> {
+
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+
+    private final AtomicLongArray table;
+    private final int widthMask;
+    private final int width;
+    private final int topK;
+    private final long resetInterval;
+    private final LongAdder additions = new LongAdder();
+    private final AtomicBoolean decaying = new AtomicBoolean();
+    private volatile long decayedAtAdditions;
+
+    private final Map<K, AtomicLong> top = new ConcurrentHashMap<>();
+    private final ReentrantLock topLock = new ReentrantLock();
+    private volatile long admissionFloor;
+
+    /**
+     * @param width counters per row, rounded up to a power of two
+     * @param topK  number of heavy hitters to track
+     */
+    public HeavyHitterSketch(int width, int topK) {
+        this.width = Integer.highestOneBit(Math.max(width - 1, 1)) << 1;
+        this.widthMask = this.width - 1;
+        this.topK = topK;
+        this.resetInterval = 10L * this.width;
+        this.table = new AtomicLongArray(DEPTH * this.width);
+    }
+
+    /**
+     * Count one occurrence of the key.
+     */
+    public void record(K key) {
+        int hash = spread(key.hashCode());
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, table.incrementAndGet(slot(hash, row)));
+        }
+
+        AtomicLong tracked = top.get(key);
+        if (tracked != null) {
+            long previous;
+            while (estimate > (previous = tracked.get()) && !tracked.compareAndSet(previous, estimate)) {
+                // Another thread raised it first; retry only while ours is still larger
+            }
+        } else if (estimate > admissionFloor) {
+            offer(key, estimate);
+        }
+        additions.increment();
+    }
+
+    /**
+     * Halve all counters once for every full decay interval recorded since the last
+     * decay. Returns false without waiting if nothing is due or another thread is
+     * already decaying.
+     */
+    public boolean decayIfDue() {
+        if (additions.sum() - decayedAtAdditions < resetInterval || !decaying.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            long periods = (additions.sum() - decayedAtAdditions) / resetInterval;
+            if (periods == 0) {
+                return false;
+            }
+            decayedAtAdditions += periods * resetInterval;
+            halve((int) Math.min(periods, 63));
+            return true;
+        } finally {
+            decaying.set(false);
+        }
+    }
+
+    /**
+     * Estimated recent frequency of the key; never an underestimate.
+     */
+    public long estimate(K key) {
+        int hash = spread(key.hashCode());
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, table.get(slot(hash, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Admission policy for a bounded cache: admit the candidate only if it has been
+     * seen more often recently than the entry it would evict.
+     */
+    public boolean admit(K candidate, K victim) {
+        return estimate(candidate) > estimate(victim);
+    }
+
+    /**
+     * The most frequent keys, highest first.
+     */
+    public List<HotKey<K>> topKeys(int limit) {
+        List<HotKey<K>> snapshot = new ArrayList<>(top.size());
+        top.forEach((key, count) -> snapshot.add(new HotKey<>(key, count.get())));
+        snapshot.sort(Comparator.comparingLong(HotKey<K>::count).reversed());
+        return snapshot.size() > limit ? snapshot.subList(0, limit) : snapshot;
+    }
+
+    private void offer(K key, long count) {
+        if (!topLock.tryLock()) {
+            return;
+        }
+        try {
+            // Admitted by another thread between our read and the lock
+            AtomicLong tracked = top.get(key);
+            if (tracked != null) {
+                tracked.accumulateAndGet(count, Math::max);
+                return;
+            }
+            if (top.size() >= topK) {
+                K smallestKey = null;
+                long smallestCount = Long.MAX_VALUE;
+                for (Map.Entry<K, AtomicLong> entry : top.entrySet()) {
+                    long entryCount = entry.getValue().get();
+                    if (smallestKey == null || entryCount < smallestCount) {
+                        smallestKey = entry.getKey();
+                        smallestCount = entryCount;
+                    }
+                }
+                if (smallestKey == null || count <= smallestCount) {
+                    return;
+                }
+                top.remove(smallestKey);
+            }
+            top.put(key, new AtomicLong(count));
+            admissionFloor = top.size() < topK ? 0 : top.values().stream().mapToLong(AtomicLong::get).min().orElse(0);
+        } finally {
+            topLock.unlock();
+        }
+    }
+
+    private void halve(int times) {
+        for (int i = 0; i < table.length(); i++) {
+            table.getAndUpdate(i, value -> value >>> times);
+        }
+        // Only the decaying thread waits here; recording threads use tryLock
+        topLock.lock();
+        try {
+            top.values().forEach(count -> count.getAndUpdate(value -> value >>> times));
+            admissionFloor = admissionFloor >>> times;
+        } finally {
+            topLock.unlock();
+        }
+    }
+
+    private int slot(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return row * width + ((int) h & widthMask);
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x45d9f3b;
+        return hash ^ (hash >>> 16);
+    }
+
+    public record HotKey<K>(K key, long count) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.production.microservices.microservicea.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the hottest product IDs and search terms seen by the product API.
+ *
+ * Exposed on the hotkeys actuator endpoint and as product.hotkeys.count gauges tagged
+ * by kind and rank (not by key, to keep metric cardinality fixed). Counter decay runs
+ * on a background thread so request threads only ever increment.
+ */
+@Component
+public class HotKeyTracker {
+
+    private final HeavyHitterSketch<Long> products;
+    private final HeavyHitterSketch<String> searchTerms;
+    private final int reportSize;
+    private final Duration decayCheckInterval;
+    private final ScheduledExecutorService decayer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("hot-key-decay").daemon().factory());
+
+    @Autowired
+    public HotKeyTracker(MeterRegistry meterRegistry,
+                         @Value("${app.hotkeys.width:4096}") int width,
+                         @Value("${app.hotkeys.top-k:50}") int topK,
+                         @Value("${app.hotkeys.report-size:10}") int reportSize,
+                         @Value("${app.hotkeys.decay-check-interval:1s}") Duration decayCheckInterval) {
+        this.products = new HeavyHitterSketch<>(width, topK);
+        this.searchTerms = new HeavyHitterSketch<>(width, topK);
+        this.reportSize = reportSize;
+        this.decayCheckInterval = decayCheckInterval;
+
+        registerRankGauges(meterRegistry, "product", products);
+        registerRankGauges(meterRegistry, "search", searchTerms);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long intervalMillis = decayCheckInterval.toMillis();
+        decayer.scheduleWithFixedDelay(() -> {
+            products.decayIfDue();
+            searchTerms.decayIfDue();
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        decayer.shutdownNow();
+    }
+
+    public void recordProductRead(Long id) {
+        products.record(id);
+    }
+
+    public void recordSearch(String term) {
+        searchTerms.record(term.toLowerCase(Locale.ROOT));
+    }
+
+    public List<HeavyHitterSketch.HotKey<Long>> topProducts() {
+        return products.topKeys(reportSize);
+    }
+
+    public List<HeavyHitterSketch.HotKey<String>> topSearchTerms() {
+        return searchTerms.topKeys(reportSize);
+    }
+
+    /**
+     * Sketch of product reads, for caches that want frequency-based admission.
+     */
+    public HeavyHitterSketch<Long> productSketch() {
+        return products;
+    }
+
+    private void registerRankGauges(MeterRegistry meterRegistry, String kind, HeavyHitterSketch<?> sketch) {
+        for (int rank = 1; rank <= reportSize; rank++) {
+            int index = rank - 1;
+            Gauge.builder("product.hotkeys.count", sketch, s -> {
+                        List<? extends HeavyHitterSketch.HotKey<?>> top = s.topKeys(index + 1);
+                        return top.size() > index ? top.get(index).count() : 0;
+                    })
+                    .description("Estimated recent request count of the Nth hottest key")
+                    .tag("kind", kind)
+                    .tag("rank", String.valueOf(rank))
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.production.microservices.microservicea.service;
+
+import com.production.microservices.microservicea.config.SqlStatementCounter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.StructuredTaskScope.Joiner;
+import java.util.concurrent.StructuredTaskScope.Subtask;
+import java.util.function.BiFunction;
+
+/**
+ * Runs independent reads for one request concurrently, so the response waits for the
+ * slowest read rather than the sum of them.
+ *
+ * Each read runs on its own virtual thread inside a StructuredTaskScope with a shared
+ * deadline (app.fanout.deadline). If one read fails or the deadline passes, the others
+ * are cancelled and the failure is rethrown to the caller. Reads must not depend on the
+ * caller's transaction; each one opens its own. The caller's SQL statement scope is
+ * carried over so per-request statement counts stay complete.
+ */
+@Component
+public class ParallelReads {
+
+    private final Duration deadline;
+
+    @Autowired
+    public ParallelReads(@Value("${app.fanout.deadline:5s}") Duration deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Run both reads concurrently and combine their results
+     */
+    public <A, B, R> R both(Callable<A> first, Callable<B> second, BiFunction<A, B, R> combine) {
+        try (var scope = StructuredTaskScope.open(Joiner.<Object>awaitAllSuccessfulOrThrow(),
+                config -> config.withTimeout(deadline))) {
+            Subtask<A> firstResult = scope.fork(inRequestScope(first));
+            Subtask<B> secondResult = scope.fork(inRequestScope(second));
+            scope.join();
+            return combine.apply(firstResult.get(), secondResult.get());
+        } catch (StructuredTaskScope.FailedException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Parallel read failed", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for parallel reads", e);
+        }
+    }
+
+    private static <T> Callable<T> inRequestScope(Callable<T> task) {
+        SqlStatementCounter.Stats stats = SqlStatementCounter.current();
+        return () -> {
+            SqlStatementCounter.attach(stats);
+            try {
+                return task.call();
+            } finally {
+                SqlStatementCounter.attach(null);
+            }
+        };
+    }
+}
@@ -0,0 +1,325 @@
+package com.production.microservices.microservicea.service;
+
+import com.production.microservices.microservicea.entity.PriceAdjustmentJob;
+import com.production.microservices.microservicea.repository.PriceAdjustmentJobRepository;
+import com.production.microservices.microservicea.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs bulk price adjustments as set-based UPDATEs over key-ordered chunks of products.
+ *
+ * Each chunk is one short transaction that updates the matching rows in an id range
+ * and advances the job's cursor, so rows are locked only for the duration of a chunk
+ * and a job picks up exactly where it left off after a restart. Jobs are leased to one
+ * pod at a time through owner/heartbeat_at; a background scan resumes jobs whose owner
+ * stopped heartbeating.
+ */
+@Service
+public class PriceAdjustmentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PriceAdjustmentService.class);
+
+    private static final String CHUNK_UPPER_BOUND_SQL =
+            "SELECT MAX(id) FROM (SELECT id FROM products WHERE id > ? AND id <= ? ORDER BY id LIMIT ?) chunk";
+
+    private final PriceAdjustmentJobRepository jobRepository;
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+    private final int defaultChunkSize;
+    private final int maxChunkSize;
+    private final Duration leaseTimeout;
+    private final Duration scanInterval;
+
+    private final String owner = Optional.ofNullable(System.getenv("HOSTNAME")).orElse("local")
+            + "-" + UUID.randomUUID().toString().substring(0, 8);
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("price-adjustment-worker").daemon().factory());
+    private final ScheduledExecutorService scanner = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("price-adjustment-scanner").daemon().factory());
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private volatile boolean stopping;
+
+    @Autowired
+    public PriceAdjustmentService(PriceAdjustmentJobRepository jobRepository,
+                                  ProductRepository productRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.price-adjustment.default-chunk-size:500}") int defaultChunkSize,
+                                  @Value("${app.price-adjustment.max-chunk-size:5000}") int maxChunkSize,
+                                  @Value("${app.price-adjustment.chunk-timeout:10s}") Duration chunkTimeout,
+                                  @Value("${app.price-adjustment.lease-timeout:60s}") Duration leaseTimeout,
+                                  @Value("${app.price-adjustment.scan-interval:30s}") Duration scanInterval) {
+        // A chunk must finish well inside the lease, or another pod takes the job over mid-chunk
+        if (chunkTimeout.compareTo(leaseTimeout) >= 0) {
+            throw new IllegalStateException("app.price-adjustment.chunk-timeout (" + chunkTimeout
+                    + ") must be less than app.price-adjustment.lease-timeout (" + leaseTimeout + ")");
+        }
+        if (defaultChunkSize < 1 || defaultChunkSize > maxChunkSize) {
+            throw new IllegalStateException("app.price-adjustment.default-chunk-size (" + defaultChunkSize
+                    + ") must be between 1 and app.price-adjustment.max-chunk-size (" + maxChunkSize + ")");
+        }
+        this.jobRepository = jobRepository;
+        this.productRepository = productRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setTimeout((int) chunkTimeout.toSeconds());
+        this.defaultChunkSize = defaultChunkSize;
+        this.maxChunkSize = maxChunkSize;
+        this.leaseTimeout = leaseTimeout;
+        this.scanInterval = scanInterval;
+    }
+
+    /**
+     * Record a new job and queue it on this pod
+     */
+    public PriceAdjustmentJob createJob(PriceAdjustmentJob request) {
+        if (request.getAdjustmentType() == PriceAdjustmentJob.AdjustmentType.PERCENT
+                && request.getAdjustmentValue().compareTo(BigDecimal.valueOf(-100)) <= 0) {
+            throw new IllegalArgumentException("Percentage adjustment must be greater than -100");
+        }
+        if (request.getMinPrice() != null && request.getMaxPrice() != null
+                && request.getMinPrice().compareTo(request.getMaxPrice()) > 0) {
+            throw new IllegalArgumentException("Minimum price must not exceed maximum price");
+        }
+        // Each chunk is one transaction holding its row locks, so its size is capped
+        if (request.getChunkSize() != null && request.getChunkSize() > maxChunkSize) {
+            throw new IllegalArgumentException("Chunk size must not exceed " + maxChunkSize);
+        }
+
+        PriceAdjustmentJob job = new PriceAdjustmentJob();
+        job.setStatus(PriceAdjustmentJob.Status.PENDING);
+        job.setMinPrice(request.getMinPrice());
+        job.setMaxPrice(request.getMaxPrice());
+        job.setMaxQuantity(request.getMaxQuantity());
+        job.setNameContains(request.getNameContains());
+        job.setAdjustmentType(request.getAdjustmentType());
+        job.setAdjustmentValue(request.getAdjustmentValue());
+        job.setRounding(request.getRounding() != null ? request.getRounding() : PriceAdjustmentJob.Rounding.HALF_UP);
+        job.setChunkSize(request.getChunkSize() != null ? request.getChunkSize() : defaultChunkSize);
+        // Products created after the job starts are not repriced
+        job.setTargetMaxId(Optional.ofNullable(productRepository.findMaxId()).orElse(0L));
+
+        PriceAdjustmentJob saved = jobRepository.save(job);
+        logger.info("Created price adjustment job {}: {} {} over ids up to {}", saved.getId(),
+                   saved.getAdjustmentType(), saved.getAdjustmentValue(), saved.getTargetMaxId());
+        enqueue(saved.getId());
+        return saved;
+    }
+
+    /**
+     * Get a job and its progress
+     */
+    @Transactional(readOnly = true)
+    public Optional<PriceAdjustmentJob> getJob(Long id) {
+        return jobRepository.findById(id);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startScanner() {
+        scanner.scheduleWithFixedDelay(this::resumeOrphanedJobs, 0, scanInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        stopping = true;
+        scanner.shutdownNow();
+        worker.shutdown();
+        if (!worker.awaitTermination(chunkTransaction.getTimeout() + 5L, TimeUnit.SECONDS)) {
+            logger.warn("Price adjustment worker did not stop in time");
+        }
+        // Hand running jobs back so another pod resumes them without waiting for the lease to expire
+        int released = jdbcTemplate.update(
+                "UPDATE price_adjustment_jobs SET owner = NULL, heartbeat_at = NULL, updated_at = ? "
+                        + "WHERE owner = ? AND status = 'RUNNING'",
+                LocalDateTime.now(), owner);
+        if (released > 0) {
+            logger.info("Released {} price adjustment jobs for resumption", released);
+        }
+    }
+
+    private void resumeOrphanedJobs() {
+        try {
+            List<Long> jobIds = jdbcTemplate.queryForList(
+                    "SELECT id FROM price_adjustment_jobs WHERE status IN ('PENDING', 'RUNNING') "
+                            + "AND (owner IS NULL OR heartbeat_at < ?) ORDER BY id",
+                    Long.class, LocalDateTime.now().minus(leaseTimeout));
+            jobIds.forEach(this::enqueue);
+        } catch (Exception e) {
+            logger.error("Failed to scan for price adjustment jobs to resume", e);
+        }
+    }
+
+    private void enqueue(Long jobId) {
+        if (stopping || !queued.add(jobId)) {
+            return;
+        }
+        worker.execute(() -> {
+            try {
+                run(jobId);
+            } finally {
+                queued.remove(jobId);
+            }
+        });
+    }
+
+    private void run(Long jobId) {
+        if (!claim(jobId)) {
+            return;
+        }
+        PriceAdjustmentJob job = jobRepository.findById(jobId).orElseThrow();
+        logger.info("Running price adjustment job {} from id {}", jobId, job.getLastProcessedId());
+
+        List<Object> filterArgs = new ArrayList<>();
+        String updateSql = buildUpdateSql(job, filterArgs);
+        long lastProcessedId = job.getLastProcessedId();
+
+        try {
+            while (!stopping) {
+                long from = lastProcessedId;
+                Long next = chunkTransaction.execute(status -> processChunk(job, updateSql, filterArgs, from));
+                if (next == null) {
+                    return;
+                }
+                lastProcessedId = next;
+            }
+            logger.info("Price adjustment job {} paused at id {} for shutdown", jobId, lastProcessedId);
+        } catch (LeaseLostException e) {
+            logger.warn("Price adjustment job {} was taken over by another pod", jobId);
+        } catch (RuntimeException e) {
+            logger.error("Price adjustment job {} failed at id {}", jobId, lastProcessedId, e);
+            jdbcTemplate.update(
+                    "UPDATE price_adjustment_jobs SET status = 'FAILED', error_message = ?, owner = NULL, updated_at = ? "
+                            + "WHERE id = ? AND owner = ?",
+                    truncate(e.getMessage()), LocalDateTime.now(), jobId, owner);
+        }
+    }
+
+    /**
+     * Take the job's lease if it is unowned, stale, or already ours
+     */
+    private boolean claim(Long jobId) {
+        LocalDateTime now = LocalDateTime.now();
+        return jdbcTemplate.update(
+                "UPDATE price_adjustment_jobs SET owner = ?, heartbeat_at = ?, status = 'RUNNING', "
+                        + "started_at = COALESCE(started_at, ?), updated_at = ? "
+                        + "WHERE id = ? AND status IN ('PENDING', 'RUNNING') "
+                        + "AND (owner IS NULL OR owner = ? OR heartbeat_at < ?)",
+                owner, now, now, now, jobId, owner, now.minus(leaseTimeout)) == 1;
+    }
+
+    /**
+     * Adjust one chunk and advance the cursor in the same transaction.
+     * Returns the new cursor, or null once the job has completed.
+     */
+    private Long processChunk(PriceAdjustmentJob job, String updateSql, List<Object> filterArgs, long from) {
+        LocalDateTime now = LocalDateTime.now();
+        Long upper = jdbcTemplate.queryForObject(CHUNK_UPPER_BOUND_SQL, Long.class,
+                from, job.getTargetMaxId(), job.getChunkSize());
+
+        if (upper == null) {
+            int updated = jdbcTemplate.update(
+                    "UPDATE price_adjustment_jobs SET status = 'COMPLETED', completed_at = ?, owner = NULL, updated_at = ? "
+                            + "WHERE id = ? AND owner = ?",
+                    now, now, job.getId(), owner);
+            if (updated == 0) {
+                throw new LeaseLostException();
+            }
+            logger.info("Price adjustment job {} completed", job.getId());
+            return null;
+        }
+
+        List<Object> args = new ArrayList<>();
+        args.add(job.getAdjustmentValue());
+        args.add(now);
+        args.add(from);
+        args.add(upper);
+        args.addAll(filterArgs);
+        int adjusted = jdbcTemplate.update(updateSql, args.toArray());
+
+        int advanced = jdbcTemplate.update(
+                "UPDATE price_adjustment_jobs SET last_processed_id = ?, products_updated = products_updated + ?, "
+                        + "heartbeat_at = ?, updated_at = ? WHERE id = ? AND owner = ?",
+                upper, adjusted, now, now, job.getId(), owner);
+        if (advanced == 0) {
+            // Another pod holds the lease; roll back this chunk's price changes
+            throw new LeaseLostException();
+        }
+        return upper;
+    }
+
+    /**
+     * Build the chunk UPDATE. Parameters: adjustment value, updated_at, id lower bound
+     * (exclusive), id upper bound (inclusive), then the filter arguments added to filterArgs.
+     */
+    private static String buildUpdateSql(PriceAdjustmentJob job, List<Object> filterArgs) {
+        String adjusted = switch (job.getAdjustmentType()) {
+            case PERCENT -> "price * (1 + ? / 100.0)";
+            case ABSOLUTE -> "price + ?";
+        };
+        String rounded = switch (job.getRounding()) {
+            case HALF_UP -> "ROUND(" + adjusted + ", 2)";
+            case UP -> "CEIL((" + adjusted + ") * 100) / 100";
+            case DOWN -> "FLOOR((" + adjusted + ") * 100) / 100";
+        };
+
+        StringBuilder sql = new StringBuilder("UPDATE products SET price = GREATEST(")
+                .append(rounded)
+                .append(", 0), updated_at = ? WHERE id > ? AND id <= ? AND active = true");
+        if (job.getMinPrice() != null) {
+            sql.append(" AND price >= ?");
+            filterArgs.add(job.getMinPrice());
+        }
+        if (job.getMaxPrice() != null) {
+            sql.append(" AND price <= ?");
+            filterArgs.add(job.getMaxPrice());
+        }
+        if (job.getMaxQuantity() != null) {
+            sql.append(" AND quantity <= ?");
+            filterArgs.add(job.getMaxQuantity());
+        }
+        if (job.getNameContains() != null && !job.getNameContains().isBlank()) {
+            sql.append(" AND LOWER(name) LIKE ? ESCAPE '\\'");
+            String escaped = job.getNameContains().toLowerCase(Locale.ROOT)
+                    .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+            filterArgs.add("%" + escaped + "%");
+        }
+        return sql.toString();
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+
+    private static class LeaseLostException extends RuntimeException {
+    }
+}
@@ -0,0 +1,420 @@
+package com.production.microservices.microservicea.service;
+
+import com.production.microservices.microservicea.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory prefix index of active product names for autocomplete.
+ *
+ * A compressed radix tree keyed on the lower-cased name and on each later word of it,
+ * so "mouse" suggests "Wireless Mouse". Every node keeps its subtree's best suggestions
+ * precomputed, so a lookup is a walk down the prefix and a copy of at most top-K entries.
+ *
+ * Lookups are lock-free: nodes publish their children, terminal entries and top list as
+ * immutable arrays through volatile fields. Writers are serialized and replace those
+ * arrays wholesale. ProductService applies its own writes after commit; a periodic
+ * rebuild from the database picks up writes made through other pods. Writes that
+ * arrive while a rebuild is reading its snapshot are replayed onto the rebuilt tree
+ * before it replaces the live one, so none are lost.
+ */
+@Component
+public class ProductNameIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductNameIndex.class);
+
+    private static final Comparator<Suggestion> RANKING = Comparator
+            .comparingInt((Suggestion suggestion) -> suggestion.name().length())
+            .thenComparing(Suggestion::key);
+
+    private final ProductRepository productRepository;
+    private final int topK;
+    private final Duration refreshInterval;
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("product-name-index-refresh").daemon().factory());
+
+    private final Object writeLock = new Object();
+    // Guarded by writeLock
+    private Tree tree = new Tree();
+    // Guarded by writeLock; non-null while a rebuild is between its snapshot and its swap
+    private List<PendingPut> pendingPuts;
+    // Read lock-free; always tree.root outside a rebuild's swap
+    private volatile Node root = tree.root;
+
+    @Autowired
+    public ProductNameIndex(ProductRepository productRepository,
+                            @Value("${app.suggest.top-k:10}") int topK,
+                            @Value("${app.suggest.refresh-interval:5m}") Duration refreshInterval) {
+        this.productRepository = productRepository;
+        this.topK = topK;
+        this.refreshInterval = refreshInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        refresher.scheduleWithFixedDelay(this::rebuild, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * Up to limit distinct product names with a word starting with the prefix, best first
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        Node node = find(root, normalized);
+        if (node == null) {
+            return List.of();
+        }
+        Suggestion[] top = node.top;
+        int count = Math.min(limit, top.length);
+        List<String> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(top[i].name());
+        }
+        return result;
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    /**
+     * Add, rename, activate or deactivate a product
+     */
+    public void put(Long id, String name, boolean active) {
+        synchronized (writeLock) {
+            tree.put(id, name, active);
+            if (pendingPuts != null) {
+                pendingPuts.add(new PendingPut(id, name, active));
+            }
+        }
+    }
+
+    /**
+     * Replace the index with the current set of active products
+     */
+    void rebuild() {
+        synchronized (writeLock) {
+            pendingPuts = new ArrayList<>();
+        }
+        try {
+            long start = System.nanoTime();
+            // Read outside the lock; puts arriving meanwhile go to the live tree and to pendingPuts
+            List<ProductRepository.ProductNameView> products = productRepository.findActiveProductNames();
+            int nameCount;
+            synchronized (writeLock) {
+                Tree rebuilt = new Tree();
+                for (ProductRepository.ProductNameView product : products) {
+                    rebuilt.put(product.getId(), product.getName(), true);
+                }
+                // Later than the snapshot or concurrent with it; replaying the last state per id is safe either way
+                for (PendingPut pending : pendingPuts) {
+                    rebuilt.put(pending.id(), pending.name(), pending.active());
+                }
+                tree = rebuilt;
+                root = rebuilt.root;
+                nameCount = rebuilt.names.size();
+            }
+            logger.info("Rebuilt product name index: {} products, {} names in {} ms",
+                       products.size(), nameCount, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception e) {
+            logger.error("Failed to rebuild product name index", e);
+        } finally {
+            synchronized (writeLock) {
+                pendingPuts = null;
+            }
+        }
+    }
+
+    /**
+     * One tree and the bookkeeping needed to update it. The live tree is mutated in place
+     * under writeLock; a rebuild fills a fresh one that readers cannot reach until it is
+     * published through root.
+     */
+    private final class Tree {
+
+        final Node root = new Node("");
+        final Map<Long, String> productKeys = new HashMap<>();
+        final Map<String, NameEntry> names = new HashMap<>();
+
+        void put(Long id, String name, boolean active) {
+            remove(id);
+            if (active && name != null && !normalize(name).isEmpty()) {
+                add(id, name);
+            }
+        }
+
+        private void add(Long id, String name) {
+            String key = normalize(name);
+            productKeys.put(id, key);
+            NameEntry entry = names.get(key);
+            if (entry != null) {
+                entry.productCount++;
+                return;
+            }
+            Suggestion suggestion = new Suggestion(key, name.trim());
+            names.put(key, new NameEntry(suggestion));
+            for (String suffix : wordSuffixes(key)) {
+                insert(suffix, suggestion);
+            }
+        }
+
+        private void remove(Long id) {
+            String key = productKeys.remove(id);
+            if (key == null) {
+                return;
+            }
+            NameEntry entry = names.get(key);
+            if (--entry.productCount > 0) {
+                return;
+            }
+            names.remove(key);
+            for (String suffix : wordSuffixes(key)) {
+                delete(suffix, entry.suggestion);
+            }
+        }
+
+        private void insert(String key, Suggestion suggestion) {
+            List<Node> path = new ArrayList<>();
+            Node node = root;
+            path.add(node);
+            int i = 0;
+            while (i < key.length()) {
+                Node child = node.child(key.charAt(i));
+                if (child == null) {
+                    Node leaf = new Node(key.substring(i));
+                    leaf.terminals = new Suggestion[] {suggestion};
+                    leaf.top = new Suggestion[] {suggestion};
+                    node.children = withChild(node.children, leaf);
+                    break;
+                }
+                int common = commonPrefixLength(child.label, key, i);
+                if (common < child.label.length()) {
+                    // Split the edge: a new node for the shared part, the existing subtree below it
+                    Node rest = child.relabel(child.label.substring(common));
+                    Node middle = new Node(child.label.substring(0, common));
+                    middle.children = new Node[] {rest};
+                    middle.top = rest.top;
+                    node.children = replaceChild(node.children, child, middle);
+                    child = middle;
+                }
+                node = child;
+                path.add(node);
+                i += common;
+            }
+            if (i == key.length()) {
+                node.terminals = withSuggestion(node.terminals, suggestion);
+            }
+            for (int p = path.size() - 1; p >= 0; p--) {
+                recomputeTop(path.get(p));
+            }
+        }
+
+        private void delete(String key, Suggestion suggestion) {
+            List<Node> path = new ArrayList<>();
+            Node node = root;
+            path.add(node);
+            int i = 0;
+            while (i < key.length()) {
+                Node child = node.child(key.charAt(i));
+                if (child == null || !key.startsWith(child.label, i)) {
+                    return;
+                }
+                node = child;
+                path.add(node);
+                i += child.label.length();
+            }
+            node.terminals = withoutSuggestion(node.terminals, suggestion);
+
+            // Prune empty leaves and merge pass-through nodes to keep the tree compressed
+            for (int p = path.size() - 1; p >= 1; p--) {
+                Node current = path.get(p);
+                Node parent = path.get(p - 1);
+                if (current.terminals.length == 0 && current.children.length == 0) {
+                    parent.children = withoutChild(parent.children, current);
+                } else if (current.terminals.length == 0 && current.children.length == 1) {
+                    Node only = current.children[0];
+                    parent.children = replaceChild(parent.children, current, only.relabel(current.label + only.label));
+                }
+            }
+            for (int p = path.size() - 1; p >= 0; p--) {
+                recomputeTop(path.get(p));
+            }
+        }
+
+        private void recomputeTop(Node node) {
+            Set<Suggestion> candidates = new LinkedHashSet<>(Arrays.asList(node.terminals));
+            for (Node child : node.children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            node.top = candidates.stream().sorted(RANKING).limit(topK).toArray(Suggestion[]::new);
+        }
+    }
+
+    // Lock-free readers
+
+    private static Node find(Node start, String prefix) {
+        Node node = start;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node child = node.child(prefix.charAt(i));
+            if (child == null) {
+                return null;
+            }
+            int remaining = prefix.length() - i;
+            if (remaining <= child.label.length()) {
+                return child.label.startsWith(prefix.substring(i)) ? child : null;
+            }
+            if (!prefix.startsWith(child.label, i)) {
+                return null;
+            }
+            node = child;
+            i += child.label.length();
+        }
+        return node;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    private static List<String> wordSuffixes(String key) {
+        List<String> suffixes = new ArrayList<>();
+        suffixes.add(key);
+        for (int i = key.indexOf(' '); i >= 0; i = key.indexOf(' ', i + 1)) {
+            if (i + 1 < key.length()) {
+                suffixes.add(key.substring(i + 1));
+            }
+        }
+        return suffixes;
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static Node[] withChild(Node[] children, Node child) {
+        Node[] updated = Arrays.copyOf(children, children.length + 1);
+        updated[children.length] = child;
+        Arrays.sort(updated, Comparator.comparingInt(node -> node.label.charAt(0)));
+        return updated;
+    }
+
+    private static Node[] replaceChild(Node[] children, Node existing, Node replacement) {
+        Node[] updated = children.clone();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == existing) {
+                updated[i] = replacement;
+            }
+        }
+        return updated;
+    }
+
+    private static Node[] withoutChild(Node[] children, Node child) {
+        return Arrays.stream(children).filter(node -> node != child).toArray(Node[]::new);
+    }
+
+    private static Suggestion[] withSuggestion(Suggestion[] suggestions, Suggestion suggestion) {
+        if (Arrays.asList(suggestions).contains(suggestion)) {
+            return suggestions;
+        }
+        Suggestion[] updated = Arrays.copyOf(suggestions, suggestions.length + 1);
+        updated[suggestions.length] = suggestion;
+        return updated;
+    }
+
+    private static Suggestion[] withoutSuggestion(Suggestion[] suggestions, Suggestion suggestion) {
+        return Arrays.stream(suggestions).filter(s -> !s.equals(suggestion)).toArray(Suggestion[]::new);
+    }
+
+    private static final class Node {
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+        final String label;
+        volatile Node[] children = NO_CHILDREN;
+        volatile Suggestion[] terminals = NO_SUGGESTIONS;
+        volatile Suggestion[] top = NO_SUGGESTIONS;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Same subtree under a different edge label
+         */
+        Node relabel(String newLabel) {
+            Node copy = new Node(newLabel);
+            copy.children = children;
+            copy.terminals = terminals;
+            copy.top = top;
+            return copy;
+        }
+
+        Node child(char first) {
+            Node[] current = children;
+            int low = 0;
+            int high = current.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char c = current[mid].label.charAt(0);
+                if (c < first) {
+                    low = mid + 1;
+                } else if (c > first) {
+                    high = mid - 1;
+                } else {
+                    return current[mid];
+                }
+            }
+            return null;
+        }
+    }
+
+    private record Suggestion(String key, String name) {
+    }
+
+    private record PendingPut(Long id, String name, boolean active) {
+    }
+
+    private static final class NameEntry {
+        final Suggestion suggestion;
+        int productCount = 1;
+
+        NameEntry(Suggestion suggestion) {
+            this.suggestion = suggestion;
+        }
+    }
+}
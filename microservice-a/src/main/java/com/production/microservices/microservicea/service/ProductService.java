@@ -5,12 +5,21 @@ import com.production.microservices.microservicea.repository.ProductRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -20,10 +29,26 @@ public class ProductService {
     private static final Logger logger = LoggerFactory.getLogger(ProductService.class);
     
     private final ProductRepository productRepository;
+    private final ProductNameIndex productNameIndex;
+    private final int batchMaxIds;
+    private final int batchChunkSize;
     
     @Autowired
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository,
+                          ProductNameIndex productNameIndex,
+                          @Value("${app.batch.max-ids:200}") int batchMaxIds,
+                          @Value("${app.batch.chunk-size:100}") int batchChunkSize) {
+        // A chunk size below 1 would never advance through the id list
+        if (batchChunkSize < 1) {
+            throw new IllegalStateException("app.batch.chunk-size (" + batchChunkSize + ") must be at least 1");
+        }
+        if (batchMaxIds < 1) {
+            throw new IllegalStateException("app.batch.max-ids (" + batchMaxIds + ") must be at least 1");
+        }
         this.productRepository = productRepository;
+        this.productNameIndex = productNameIndex;
+        this.batchMaxIds = batchMaxIds;
+        this.batchChunkSize = batchChunkSize;
     }
     
     /**
@@ -44,12 +69,48 @@ public class ProductService {
         return productRepository.findById(id);
     }
     
+    /**
+     * Get several products by ID in one transaction, keyed in request order.
+     * IDs with no matching product are absent from the returned map.
+     *
+     * @throws IllegalArgumentException if more than app.batch.max-ids ids are requested
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Product> getProductsByIds(List<Long> ids) {
+        // Capped on the raw list so duplicates cannot smuggle in an oversized request
+        if (ids.size() > batchMaxIds) {
+            throw new IllegalArgumentException(
+                "Too many ids: " + ids.size() + " (maximum " + batchMaxIds + ")");
+        }
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        logger.info("Fetching {} products by id", distinctIds.size());
+        
+        Map<Long, Product> found = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += batchChunkSize) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + batchChunkSize, distinctIds.size()));
+            for (Product product : productRepository.findAllById(chunk)) {
+                found.put(product.getId(), product);
+            }
+        }
+        
+        Map<Long, Product> ordered = new LinkedHashMap<>();
+        for (Long id : distinctIds) {
+            Product product = found.get(id);
+            if (product != null) {
+                ordered.put(id, product);
+            }
+        }
+        return ordered;
+    }
+    
     /**
      * Create a new product
      */
     public Product createProduct(Product product) {
         logger.info("Creating new product: {}", product.getName());
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        indexAfterCommit(saved);
+        return saved;
     }
     
     /**
@@ -65,7 +126,9 @@ public class ProductService {
                 product.setPrice(productDetails.getPrice());
                 product.setQuantity(productDetails.getQuantity());
                 product.setActive(productDetails.getActive());
-                return productRepository.save(product);
+                Product saved = productRepository.save(product);
+                indexAfterCommit(saved);
+                return saved;
             });
     }
     
@@ -79,11 +142,20 @@ public class ProductService {
             .map(product -> {
                 product.setActive(false);
                 productRepository.save(product);
+                indexAfterCommit(product);
                 return true;
             })
             .orElse(false);
     }
     
+    /**
+     * Get autocomplete suggestions for a name prefix from the in-memory index
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<String> suggestProductNames(String prefix, int limit) {
+        return productNameIndex.suggest(prefix, Math.min(limit, productNameIndex.getTopK()));
+    }
+    
     /**
      * Search products by name
      */
@@ -118,4 +190,20 @@ public class ProductService {
     public long getTotalActiveProductsCount() {
         return productRepository.countByActiveTrue();
     }
+    
+    /**
+     * Update the name index once the current transaction commits, so rolled-back
+     * writes never show up in suggestions
+     */
+    private void indexAfterCommit(Product product) {
+        Long id = product.getId();
+        String name = product.getName();
+        boolean active = Boolean.TRUE.equals(product.getActive());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                productNameIndex.put(id, name, active);
+            }
+        });
+    }
 }
\ No newline at end of file
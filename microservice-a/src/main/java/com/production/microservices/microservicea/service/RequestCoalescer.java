@@ -0,0 +1,136 @@
+package com.production.microservices.microservicea.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight coalescing of identical concurrent reads.
+ *
+ * The first caller for a given operation and key becomes the leader and runs the
+ * loader on its own thread. Callers arriving while that load is in flight wait on
+ * the leader's result instead of issuing their own query. Nothing is retained once
+ * the load completes, so this is not a cache: the next caller starts a fresh load.
+ */
+@Component
+public class RequestCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestCoalescer.class);
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long maxWaitMillis;
+
+    private final AtomicLong leaders = new AtomicLong();
+    private final AtomicLong followers = new AtomicLong();
+
+    @Autowired
+    public RequestCoalescer(MeterRegistry meterRegistry,
+                            @Value("${app.coalescing.enabled:true}") boolean enabled,
+                            @Value("${app.coalescing.max-wait-ms:2000}") long maxWaitMillis) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxWaitMillis = maxWaitMillis;
+
+        Gauge.builder("product.coalescing.inflight", inFlight, Map::size)
+                .description("Distinct loads currently in flight")
+                .register(meterRegistry);
+        Gauge.builder("product.coalescing.ratio", this, RequestCoalescer::coalescingRatio)
+                .description("Fraction of calls served by joining an in-flight load")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run the loader for the given operation and key, sharing the result with any
+     * concurrent caller that asks for the same operation and key.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object key, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        String flightKey = operation + ':' + key;
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, created);
+
+        if (existing == null) {
+            leaders.incrementAndGet();
+            counter(operation, "leader").increment();
+            return (T) lead(flightKey, created, loader);
+        }
+
+        followers.incrementAndGet();
+        counter(operation, "follower").increment();
+        return (T) follow(operation, flightKey, existing);
+    }
+
+    private Object lead(String flightKey, CompletableFuture<Object> future, Supplier<?> loader) {
+        try {
+            Object result = loader.get();
+            inFlight.remove(flightKey, future);
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(flightKey, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Object follow(String operation, String flightKey, CompletableFuture<Object> future) {
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            counter(operation, "timeout").increment();
+            logger.warn("Timed out after {} ms waiting for in-flight load: {}", maxWaitMillis, flightKey);
+            throw new CoalescingTimeoutException(flightKey, maxWaitMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for in-flight load: " + flightKey, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("In-flight load failed: " + flightKey, cause);
+        }
+    }
+
+    private Counter counter(String operation, String role) {
+        return meterRegistry.counter("product.coalescing.calls", "operation", operation, "role", role);
+    }
+
+    double coalescingRatio() {
+        long joined = followers.get();
+        long total = joined + leaders.get();
+        return total == 0 ? 0.0 : (double) joined / total;
+    }
+
+    /**
+     * Thrown to a follower whose leader did not finish within the configured wait.
+     */
+    public static class CoalescingTimeoutException extends RuntimeException {
+        public CoalescingTimeoutException(String flightKey, long maxWaitMillis) {
+            super("Timed out after " + maxWaitMillis + " ms waiting for in-flight load: " + flightKey);
+        }
+    }
+}
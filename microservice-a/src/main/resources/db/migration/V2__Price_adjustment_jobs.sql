@@ -0,0 +1,32 @@
+-- =================================================================
+-- Bulk price adjustment jobs
+-- =================================================================
+
+-- One row per repricing job. Products are processed in id order; last_processed_id
+-- is advanced in the same transaction as each chunk's UPDATE, so a job resumed after
+-- a restart continues exactly where it stopped. owner/heartbeat_at form a lease so
+-- only one pod runs a job at a time.
+CREATE TABLE IF NOT EXISTS price_adjustment_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    min_price DECIMAL(10,2),
+    max_price DECIMAL(10,2),
+    max_quantity INTEGER,
+    name_contains VARCHAR(255),
+    adjustment_type VARCHAR(20) NOT NULL,
+    adjustment_value DECIMAL(12,4) NOT NULL,
+    rounding VARCHAR(20) NOT NULL,
+    chunk_size INTEGER NOT NULL,
+    target_max_id BIGINT NOT NULL,
+    last_processed_id BIGINT NOT NULL DEFAULT 0,
+    products_updated BIGINT NOT NULL DEFAULT 0,
+    owner VARCHAR(100),
+    heartbeat_at TIMESTAMP,
+    error_message VARCHAR(1000),
+    started_at TIMESTAMP,
+    completed_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_price_adjustment_jobs_status ON price_adjustment_jobs(status);
@@ -0,0 +1,38 @@
+-- =================================================================
+-- Active-only partial indexes for product reads
+-- =================================================================
+
+-- Every product query filters on active = true and then filters by price, by quantity
+-- or by nothing else. Separate indexes on active and on each column leave Postgres to
+-- combine a low-selectivity index with another one, or to scan the whole table. Partial
+-- indexes contain only active rows. That keeps them small, and the active filter is
+-- already applied.
+--
+-- The list views load full entities, description included, so they read the table
+-- whatever the index carries. Only two queries can run as index-only scans: the active
+-- count, which any of these indexes serves, and the autocomplete id/name load, which
+-- the created_at index serves because it includes id and name.
+--
+-- Runs in Flyway's migration transaction, without CONCURRENTLY. A concurrent build
+-- waits for every open transaction, including the one holding Flyway's advisory lock,
+-- so it can hang the migration at startup. A failed build rolls back with nothing left
+-- behind. Each CREATE blocks writes to products until it finishes, which on this table
+-- is a short pause during the rollout.
+CREATE INDEX idx_products_active_price
+    ON products (price)
+    WHERE active;
+
+CREATE INDEX idx_products_active_quantity
+    ON products (quantity)
+    WHERE active;
+
+CREATE INDEX idx_products_active_created_at
+    ON products (created_at) INCLUDE (id, name)
+    WHERE active;
+
+-- The partial indexes replace these for every query. Dropping them saves the write
+-- cost of maintaining them on every insert and price or stock update.
+DROP INDEX IF EXISTS idx_products_active;
+DROP INDEX IF EXISTS idx_products_price;
+DROP INDEX IF EXISTS idx_products_quantity;
+DROP INDEX IF EXISTS idx_products_created_at;
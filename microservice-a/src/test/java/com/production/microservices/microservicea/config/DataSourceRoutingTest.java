@@ -0,0 +1,147 @@
+package com.production.microservices.microservicea.config;
+
+import com.production.microservices.microservicea.entity.Product;
+import com.production.microservices.microservicea.repository.ProductRepository;
+import com.production.microservices.microservicea.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks which Hikari pool lends the connection for a read-only and a read-write
+ * service call.
+ *
+ * Each pool tags its connections with its pool name as the Postgres application_name.
+ * The test holds an exclusive lock on products, so the service call blocks inside its
+ * transaction, and then reads the waiting backend's application_name from
+ * pg_stat_activity. Only lookups by id are matched, so the name-index rebuild that
+ * starts with the context is ignored.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers
+class DataSourceRoutingTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("microservice_a_test")
+            .withUsername("test_user")
+            .withPassword("test_password");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", postgres::getDriverClassName);
+        for (String pool : List.of("read", "write", "health")) {
+            registry.add("app.datasource." + pool + ".connection-init-sql",
+                    () -> "SET application_name = 'product-" + pool + "'");
+        }
+    }
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        productId = productRepository.save(
+                new Product("Routing Probe", "Product for pool routing", BigDecimal.valueOf(5.00), 1)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldBorrowFromReadPool() throws Exception {
+        // When
+        String pool = poolServing(() -> productService.getProductById(productId));
+
+        // Then
+        assertEquals("product-read", pool);
+    }
+
+    @Test
+    void readWriteTransaction_ShouldBorrowFromWritePool() throws Exception {
+        // Given
+        Product details = new Product("Routing Probe", "Updated", BigDecimal.valueOf(6.00), 2);
+
+        // When
+        String pool = poolServing(() -> productService.updateProduct(productId, details));
+
+        // Then
+        assertEquals("product-write", pool);
+    }
+
+    /**
+     * Run the service call while products is locked and return the pool name of the
+     * connection it blocks on
+     */
+    private String poolServing(Callable<?> serviceCall) throws Exception {
+        try (Connection lock = DriverManager.getConnection(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())) {
+            lock.setAutoCommit(false);
+            try (Statement statement = lock.createStatement()) {
+                statement.execute("LOCK TABLE products IN ACCESS EXCLUSIVE MODE");
+            }
+
+            Future<?> call = executor.submit(serviceCall);
+            String pool = awaitBlockedApplicationName();
+            lock.rollback();
+
+            call.get(10, TimeUnit.SECONDS);
+            return pool;
+        }
+    }
+
+    private String awaitBlockedApplicationName() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (true) {
+            List<String> waiting = jdbcTemplate.queryForList("""
+                    SELECT application_name FROM pg_stat_activity
+                    WHERE datname = current_database() AND wait_event_type = 'Lock'
+                      AND query LIKE '%products%' AND query LIKE '%id=$1%'
+                    """, String.class);
+            if (!waiting.isEmpty()) {
+                assertEquals(1, waiting.size(), () -> "Expected one blocked backend: " + waiting);
+                return waiting.get(0);
+            }
+            assertTrue(System.nanoTime() < deadline, "Service call never reached the database");
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.production.microservices.microservicea.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives a request through InFlightRequestFilter and a connection checkout through
+ * TimedDataSource, and checks the autoscaling signals the HPA reads.
+ */
+class ScalingSignalMetricsTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ShutdownCoordinator shutdownCoordinator =
+            new ShutdownCoordinator(event -> { }, Duration.ZERO, Duration.ofSeconds(1));
+    private final ScalingSignalMetrics scalingSignalMetrics =
+            new ScalingSignalMetrics(meterRegistry, shutdownCoordinator, Duration.ofSeconds(60));
+    private final InFlightRequestFilter filter = new InFlightRequestFilter(shutdownCoordinator, scalingSignalMetrics);
+
+    @Test
+    void request_ShouldMoveInFlightGaugeLatencyAndQueueTime() throws Exception {
+        // Given
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> {
+            Thread.sleep(20);
+            return mock(Connection.class);
+        });
+        DataSource timedPool = new TimedDataSource(pool, scalingSignalMetrics);
+        AtomicReference<Double> inFlightDuringRequest = new AtomicReference<>();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/products/1"), new MockHttpServletResponse(),
+                (request, response) -> {
+                    inFlightDuringRequest.set(inFlight());
+                    try (Connection connection = timedPool.getConnection()) {
+                        connection.isValid(1);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+
+        // Then
+        assertEquals(1.0, inFlightDuringRequest.get());
+        assertEquals(0.0, inFlight());
+
+        Timer latency = meterRegistry.get("app.scaling.request.latency").timer();
+        Timer queueTime = meterRegistry.get("app.scaling.queue.time").timer();
+        assertEquals(1, latency.count());
+        assertEquals(1, queueTime.count());
+        assertTrue(queueTime.totalTime(TimeUnit.MILLISECONDS) >= 20);
+        assertTrue(latency.totalTime(TimeUnit.MILLISECONDS) >= queueTime.totalTime(TimeUnit.MILLISECONDS));
+        // The HPA reads these published p95 values, so they must be non-zero after a sample
+        assertTrue(p95Millis(queueTime) > 0);
+        assertTrue(p95Millis(latency) > 0);
+    }
+
+    @Test
+    void healthProbe_ShouldNotCountAsApplicationRequest() throws Exception {
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/health/ready"), new MockHttpServletResponse(),
+                (request, response) -> inFlight());
+
+        // Then
+        assertEquals(0, meterRegistry.get("app.scaling.request.latency").timer().count());
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("app.scaling.inflight.requests").gauge().value();
+    }
+
+    private static double p95Millis(Timer timer) {
+        for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == 0.95) {
+                return percentile.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        throw new AssertionError("No p95 published for " + timer.getId());
+    }
+}
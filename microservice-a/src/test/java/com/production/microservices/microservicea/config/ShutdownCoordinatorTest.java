@@ -0,0 +1,97 @@
+package com.production.microservices.microservicea.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShutdownCoordinatorTest {
+
+    private final List<Object> events = new CopyOnWriteArrayList<>();
+    private final CountDownLatch readinessDown = new CountDownLatch(1);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void stop_ShouldReportRefusingTrafficAndStopWhenNothingIsInFlight() {
+        // Given
+        ShutdownCoordinator coordinator = coordinator(Duration.ofSeconds(5));
+        coordinator.start();
+
+        // When
+        coordinator.stop();
+
+        // Then
+        assertTrue(coordinator.isDraining());
+        assertFalse(coordinator.isRunning());
+        assertEquals(ReadinessState.REFUSING_TRAFFIC, readinessState());
+    }
+
+    @Test
+    void stop_ShouldWaitForInFlightRequestsToFinish() throws Exception {
+        // Given
+        ShutdownCoordinator coordinator = coordinator(Duration.ofSeconds(30));
+        coordinator.start();
+        coordinator.requestStarted();
+        coordinator.requestStarted();
+
+        // When
+        Future<?> stopping = executor.submit(coordinator::stop);
+        assertTrue(readinessDown.await(5, TimeUnit.SECONDS));
+        coordinator.requestFinished();
+
+        // Then: one request is still in flight, so stop() cannot have returned
+        assertFalse(stopping.isDone());
+        assertTrue(coordinator.isRunning());
+
+        coordinator.requestFinished();
+        stopping.get(5, TimeUnit.SECONDS);
+        assertEquals(0, coordinator.getInFlightRequests());
+        assertFalse(coordinator.isRunning());
+    }
+
+    @Test
+    void stop_ShouldGiveUpAfterDrainTimeout() throws Exception {
+        // Given
+        ShutdownCoordinator coordinator = coordinator(Duration.ofMillis(100));
+        coordinator.start();
+        coordinator.requestStarted();
+
+        // When
+        executor.submit(coordinator::stop).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals(1, coordinator.getInFlightRequests());
+        assertFalse(coordinator.isRunning());
+        assertEquals(ReadinessState.REFUSING_TRAFFIC, readinessState());
+    }
+
+    private ShutdownCoordinator coordinator(Duration drainTimeout) {
+        return new ShutdownCoordinator(event -> {
+            events.add(event);
+            readinessDown.countDown();
+        }, Duration.ZERO, drainTimeout);
+    }
+
+    private Object readinessState() {
+        assertEquals(1, events.size());
+        return ((AvailabilityChangeEvent<?>) events.get(0)).getState();
+    }
+}
@@ -0,0 +1,228 @@
+package com.production.microservices.microservicea.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.production.microservices.microservicea.entity.PriceAdjustmentJob;
+import com.production.microservices.microservicea.entity.Product;
+import com.production.microservices.microservicea.repository.PriceAdjustmentJobRepository;
+import com.production.microservices.microservicea.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs bulk price adjustment jobs end to end against Postgres: the generated UPDATE
+ * and its rounding, chunk-by-chunk cursor advancement, and resumption of a job whose
+ * owner stopped heartbeating.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Testcontainers
+class PriceAdjustmentControllerTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("microservice_a_test")
+            .withUsername("test_user")
+            .withPassword("test_password");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", postgres::getDriverClassName);
+        registry.add("app.price-adjustment.scan-interval", () -> "1s");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PriceAdjustmentJobRepository jobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String batch;
+
+    @BeforeEach
+    void setUp() {
+        // Every job filters on this test's name prefix, so it cannot touch other rows
+        batch = "Repricing " + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    void createJob_ShouldApplyPercentAdjustmentChunkByChunkWithHalfUpRounding() throws Exception {
+        // Given
+        Long first = saveProduct(batch + " A", "19.99");
+        Long second = saveProduct(batch + " B", "10.05");
+        Long third = saveProduct(batch + " C", "0.01");
+        Long inactive = saveProduct(batch + " D", "50.00", false);
+        Long unrelated = saveProduct("Unrelated " + UUID.randomUUID(), "19.99");
+
+        // When
+        Long jobId = startJob("""
+                {"nameContains": "%s", "adjustmentType": "PERCENT", "adjustmentValue": 10,
+                 "rounding": "HALF_UP", "chunkSize": 1}
+                """.formatted(batch.toLowerCase()));
+        PriceAdjustmentJob job = awaitCompletion(jobId);
+
+        // Then
+        assertPrice(first, "21.99");   // 21.989
+        assertPrice(second, "11.06");  // 11.055
+        assertPrice(third, "0.01");    // 0.011
+        assertPrice(inactive, "50.00");
+        assertPrice(unrelated, "19.99");
+        assertEquals(3L, job.getProductsUpdated());
+        assertEquals(job.getTargetMaxId(), job.getLastProcessedId());
+
+        mockMvc.perform(get("/api/v1/products/price-adjustments/{id}", jobId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.job.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.progressPercent").value(100));
+    }
+
+    @Test
+    void createJob_ShouldRoundAbsoluteAdjustmentUpOrDown() throws Exception {
+        // Given
+        Long roundedUp = saveProduct(batch + " up", "10.00");
+        Long roundedDown = saveProduct(batch + " down", "10.00");
+        Long floored = saveProduct(batch + " floor", "0.10");
+
+        // When
+        awaitCompletion(startJob("""
+                {"nameContains": "%s up", "adjustmentType": "ABSOLUTE", "adjustmentValue": 0.333, "rounding": "UP"}
+                """.formatted(batch)));
+        awaitCompletion(startJob("""
+                {"nameContains": "%s down", "adjustmentType": "ABSOLUTE", "adjustmentValue": 0.333, "rounding": "DOWN"}
+                """.formatted(batch)));
+        PriceAdjustmentJob floor = awaitCompletion(startJob("""
+                {"nameContains": "%s floor", "adjustmentType": "ABSOLUTE", "adjustmentValue": -5}
+                """.formatted(batch)));
+
+        // Then
+        assertPrice(roundedUp, "10.34");
+        assertPrice(roundedDown, "10.33");
+        assertPrice(floored, "0.00");
+        assertEquals(1L, floor.getProductsUpdated());
+    }
+
+    @Test
+    void createJob_ShouldMatchLikeWildcardsInNameLiterally() throws Exception {
+        // Given
+        Long literal = saveProduct(batch + " 100%_off", "20.00");
+        Long lookalike = saveProduct(batch + " 100xxoff", "20.00");
+
+        // When
+        PriceAdjustmentJob job = awaitCompletion(startJob("""
+                {"nameContains": "%s 100%%_off", "adjustmentType": "ABSOLUTE", "adjustmentValue": 1}
+                """.formatted(batch)));
+
+        // Then
+        assertPrice(literal, "21.00");
+        assertPrice(lookalike, "20.00");
+        assertEquals(1L, job.getProductsUpdated());
+    }
+
+    @Test
+    void scanner_ShouldResumeStaleJobFromItsCursor() throws Exception {
+        // Given: a job whose owner died after processing the first two products
+        Long first = saveProduct(batch + " A", "10.00");
+        Long second = saveProduct(batch + " B", "10.00");
+        Long third = saveProduct(batch + " C", "10.00");
+        Long fourth = saveProduct(batch + " D", "10.00");
+        Long jobId = jdbcTemplate.queryForObject("""
+                INSERT INTO price_adjustment_jobs
+                    (status, name_contains, adjustment_type, adjustment_value, rounding, chunk_size,
+                     target_max_id, last_processed_id, products_updated, owner, heartbeat_at, started_at)
+                VALUES ('RUNNING', ?, 'ABSOLUTE', 5, 'HALF_UP', 1, ?, ?, 2, 'dead-pod', ?, ?)
+                RETURNING id
+                """, Long.class, batch.toLowerCase(), fourth, second,
+                LocalDateTime.now().minusHours(1), LocalDateTime.now().minusHours(1));
+
+        // When
+        PriceAdjustmentJob job = awaitCompletion(jobId);
+
+        // Then
+        assertPrice(first, "10.00");
+        assertPrice(second, "10.00");
+        assertPrice(third, "15.00");
+        assertPrice(fourth, "15.00");
+        assertEquals(4L, job.getProductsUpdated());
+        assertEquals(fourth, job.getLastProcessedId());
+    }
+
+    @Test
+    void createJob_ShouldRejectChunkSizeAboveMaximum() throws Exception {
+        mockMvc.perform(post("/api/v1/products/price-adjustments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"adjustmentType": "PERCENT", "adjustmentValue": 5, "chunkSize": 1000000}
+                                """))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Long startJob(String body) throws Exception {
+        String response = mockMvc.perform(post("/api/v1/products/price-adjustments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(response, "$.job.id")).longValue();
+    }
+
+    private PriceAdjustmentJob awaitCompletion(Long jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (true) {
+            PriceAdjustmentJob job = jobRepository.findById(jobId).orElseThrow();
+            if (job.getStatus() == PriceAdjustmentJob.Status.COMPLETED) {
+                return job;
+            }
+            assertTrue(job.getStatus() != PriceAdjustmentJob.Status.FAILED, () -> "Job failed: " + job.getErrorMessage());
+            assertTrue(System.nanoTime() < deadline, () -> "Job " + jobId + " still " + job.getStatus());
+            Thread.sleep(50);
+        }
+    }
+
+    private Long saveProduct(String name, String price) {
+        return saveProduct(name, price, true);
+    }
+
+    private Long saveProduct(String name, String price, boolean active) {
+        Product product = new Product(name, "Product for price adjustment tests", new BigDecimal(price), 5);
+        product.setActive(active);
+        return productRepository.save(product).getId();
+    }
+
+    private void assertPrice(Long productId, String expected) {
+        BigDecimal actual = productRepository.findById(productId).orElseThrow().getPrice();
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), () -> "Product " + productId + " price " + actual);
+    }
+}
@@ -0,0 +1,145 @@
+package com.production.microservices.microservicea.controller;
+
+import com.production.microservices.microservicea.entity.Product;
+import com.production.microservices.microservicea.repository.ProductRepository;
+import com.production.microservices.microservicea.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static com.production.microservices.microservicea.support.SqlStatementMatchers.statementCount;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Response contract of the multi-get lookup: request order, missing ids, the id cap
+ * and chunking of large lookups. The chunk size is lowered so a handful of ids
+ * spans several chunks.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Testcontainers
+class ProductControllerBatchLookupTest {
+
+    private static final int CHUNK_SIZE = 2;
+    private static final int MAX_IDS = 10;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("microservice_a_test")
+            .withUsername("test_user")
+            .withPassword("test_password");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", postgres::getDriverClassName);
+        registry.add("app.batch.chunk-size", () -> CHUNK_SIZE);
+        registry.add("app.batch.max-ids", () -> MAX_IDS);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void getProductsByIds_ShouldReturnFoundProductsInRequestOrderAndListMissingIds() throws Exception {
+        // Given
+        Long first = saveProduct();
+        Long second = saveProduct();
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/products").param("ids", second + ",999999," + first + "," + second))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2))
+                .andExpect(jsonPath("$.products[0].id").value(second))
+                .andExpect(jsonPath("$.products[1].id").value(first))
+                .andExpect(jsonPath("$.missingIds.length()").value(1))
+                .andExpect(jsonPath("$.missingIds[0]").value(999999L));
+    }
+
+    @Test
+    void getProductsByIds_ShouldQueryDistinctIdsOneChunkAtATime() throws Exception {
+        // Given: five distinct ids, one of them repeated, with two ids per chunk
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(saveProduct());
+        }
+        ids.add(ids.get(0));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ids.stream().map(String::valueOf).collect(Collectors.joining(",", "[", "]"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(5))
+                .andExpect(jsonPath("$.missingIds.length()").value(0))
+                .andExpect(statementCount(3));
+    }
+
+    @Test
+    void getProductsByIds_ShouldRejectTooManyIdsBeforeQuerying() throws Exception {
+        // Given: duplicates still count towards the cap
+        String duplicates = String.join(",", Collections.nCopies(MAX_IDS + 1, String.valueOf(saveProduct())));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + duplicates + "]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid batch request"))
+                .andExpect(jsonPath("$.message").value("Too many ids: " + (MAX_IDS + 1) + " (maximum " + MAX_IDS + ")"))
+                .andExpect(statementCount(0));
+    }
+
+    @Test
+    void getProductsByIds_ShouldRejectEmptyOrNullIds() throws Exception {
+        mockMvc.perform(post("/api/v1/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(statementCount(0));
+
+        mockMvc.perform(post("/api/v1/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1,null]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(statementCount(0));
+    }
+
+    @Test
+    void productService_ShouldRejectNonPositiveChunkSizeOrMaxIds() {
+        assertThrows(IllegalStateException.class, () -> new ProductService(productRepository, null, 200, 0));
+        assertThrows(IllegalStateException.class, () -> new ProductService(productRepository, null, 0, 100));
+    }
+
+    private Long saveProduct() {
+        String name = "Batch Probe " + UUID.randomUUID();
+        return productRepository.save(
+                new Product(name, "Product for batch lookups", BigDecimal.valueOf(9.99), 3)).getId();
+    }
+}
@@ -0,0 +1,157 @@
+package com.production.microservices.microservicea.controller;
+
+import com.production.microservices.microservicea.entity.Product;
+import com.production.microservices.microservicea.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static com.production.microservices.microservicea.support.SqlStatementMatchers.statementCount;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements each ProductController endpoint runs,
+ * so an accidental N+1 or extra round trip fails the build.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Testcontainers
+class ProductControllerSqlStatementTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("microservice_a_test")
+            .withUsername("test_user")
+            .withPassword("test_password");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", postgres::getDriverClassName);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Long productId;
+    private String productName;
+
+    @BeforeEach
+    void setUp() {
+        // Unique per test, so searches match exactly one row whatever ran before
+        productName = "Budget Probe " + UUID.randomUUID();
+        productId = productRepository.save(
+                new Product(productName, "Product for statement counts", BigDecimal.valueOf(19.99), 5)).getId();
+    }
+
+    @Test
+    void getAllProducts_ShouldRunListAndCountQueries() throws Exception {
+        mockMvc.perform(get("/api/v1/products"))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(2));
+    }
+
+    @Test
+    void getProductById_ShouldRunOneStatement() throws Exception {
+        mockMvc.perform(get("/api/v1/products/{id}", productId))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(1));
+    }
+
+    @Test
+    void getProductsByIds_ShouldRunOneStatement() throws Exception {
+        mockMvc.perform(get("/api/v1/products").param("ids", productId + ",1,999999"))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(1));
+
+        mockMvc.perform(post("/api/v1/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + productId + ",1]"))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(1));
+    }
+
+    @Test
+    void createProduct_ShouldRunOneInsert() throws Exception {
+        mockMvc.perform(post("/api/v1/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Created\",\"price\":9.99,\"quantity\":1}"))
+                .andExpect(status().isCreated())
+                .andExpect(statementCount(1));
+    }
+
+    @Test
+    void updateProduct_ShouldRunSelectAndUpdate() throws Exception {
+        mockMvc.perform(put("/api/v1/products/{id}", productId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Renamed\",\"price\":29.99,\"quantity\":3,\"active\":true}"))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(2));
+    }
+
+    @Test
+    void deleteProduct_ShouldRunSelectAndUpdate() throws Exception {
+        mockMvc.perform(delete("/api/v1/products/{id}", productId))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(2));
+    }
+
+    @Test
+    void searchProducts_ShouldRunOneStatementWhenFirstPageIsPartial() throws Exception {
+        mockMvc.perform(get("/api/v1/products/search").param("name", productName))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(1));
+    }
+
+    @Test
+    void suggestProducts_ShouldNotTouchTheDatabase() throws Exception {
+        mockMvc.perform(get("/api/v1/products/suggest").param("prefix", "bud"))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(0));
+    }
+
+    @Test
+    void suggestProducts_ShouldRejectBlankPrefixOrNonPositiveLimit() throws Exception {
+        mockMvc.perform(get("/api/v1/products/suggest").param("prefix", "bud").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/products/suggest").param("prefix", "bud").param("limit", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/products/suggest").param("prefix", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getProductsInPriceRange_ShouldRunOneStatement() throws Exception {
+        mockMvc.perform(get("/api/v1/products/price-range").param("minPrice", "10").param("maxPrice", "50"))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(1));
+    }
+
+    @Test
+    void getLowStockProducts_ShouldRunOneStatement() throws Exception {
+        mockMvc.perform(get("/api/v1/products/low-stock").param("threshold", "10"))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(1));
+    }
+}
@@ -0,0 +1,227 @@
+package com.production.microservices.microservicea.repository;
+
+import com.production.microservices.microservicea.config.SqlStatementCounter;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pins the index each ProductRepository query is planned with, so a schema or query
+ * change that falls back to a sequential scan fails the build.
+ *
+ * Runs against an embedded Postgres binary seeded with a catalog large enough for the
+ * planner's choice to matter: 200,000 products, of which the newest 20,000 are active.
+ * The SQL under test is the statement Hibernate actually generates, captured through
+ * SqlStatementCounter, and is explained with the same parameter values.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductRepositoryQueryPlanTest {
+
+    private static final int CATALOG_SIZE = 200_000;
+    private static final int ACTIVE_PRODUCTS = 20_000;
+
+    private static final EmbeddedPostgres postgres = startPostgres();
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ConfigurableApplicationContext applicationContext;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seedCatalog() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("""
+                INSERT INTO products (name, description, price, quantity, active, created_at, updated_at)
+                SELECT 'Product ' || i,
+                       'Seeded product number ' || i || ' for query plan tests',
+                       ((i * 7919) % 100000) / 100.0,
+                       (i * 31) % 1000,
+                       i > ?,
+                       TIMESTAMP '2020-01-01' + i * INTERVAL '1 minute',
+                       TIMESTAMP '2020-01-01' + i * INTERVAL '1 minute'
+                FROM generate_series(1, ?) AS i
+                """, CATALOG_SIZE - ACTIVE_PRODUCTS, CATALOG_SIZE);
+        // Fresh statistics for the planner and a set visibility map for index-only scans
+        jdbcTemplate.execute("VACUUM ANALYZE products");
+    }
+
+    @AfterAll
+    void stopPostgres() throws IOException {
+        // The context's shutdown still talks to the database (lease release, request drain),
+        // so close it first; @AfterAll runs before @DirtiesContext would get to it
+        applicationContext.close();
+        postgres.close();
+    }
+
+    @Test
+    void findProductsInPriceRange_ShouldUseActivePriceIndex() {
+        // When
+        List<String> plans = explain(
+                () -> productRepository.findProductsInPriceRange(100.0, 110.0),
+                new BigDecimal("100.0"), new BigDecimal("110.0"));
+
+        // Then
+        assertUsesIndex(plans, "idx_products_active_price");
+    }
+
+    @Test
+    void findLowStockProducts_ShouldUseActiveQuantityIndex() {
+        // When
+        List<String> plans = explain(() -> productRepository.findLowStockProducts(5), 5);
+
+        // Then
+        assertUsesIndex(plans, "idx_products_active_quantity");
+    }
+
+    @Test
+    void findByActiveTrue_ShouldScanActivePartialIndex() {
+        // When
+        List<String> plans = explain(() -> productRepository.findByActiveTrue());
+
+        // Then
+        assertUsesActivePartialIndex(plans);
+    }
+
+    @Test
+    void countByActiveTrue_ShouldRunAsIndexOnlyScan() {
+        // When
+        List<String> plans = explain(() -> productRepository.countByActiveTrue());
+
+        // Then
+        assertUsesActivePartialIndex(plans);
+        assertTrue(plans.stream().allMatch(plan -> plan.contains("Index Only Scan")), () -> String.join("\n", plans));
+    }
+
+    @Test
+    void findActiveProductNames_ShouldRunAsIndexOnlyScan() {
+        // When
+        List<String> plans = explain(() -> productRepository.findActiveProductNames());
+
+        // Then
+        assertUsesActivePartialIndex(plans);
+        assertTrue(plans.stream().allMatch(plan -> plan.contains("Index Only Scan")), () -> String.join("\n", plans));
+    }
+
+    @Test
+    void findByNameContainingIgnoreCaseAndActiveTrue_ShouldNotScanWholeTable() {
+        // A substring match cannot use a btree index, but the active filter still can
+        // When
+        List<String> plans = explain(
+                () -> productRepository.findByNameContainingIgnoreCaseAndActiveTrue("product 1999", PageRequest.of(0, 10)),
+                "%product 1999%", 10);
+
+        // Then
+        assertNoSequentialScan(plans);
+    }
+
+    @Test
+    void findMaxId_ShouldUsePrimaryKey() {
+        // When
+        List<String> plans = explain(() -> productRepository.findMaxId());
+
+        // Then
+        assertUsesIndex(plans, "products_pkey");
+    }
+
+    @Test
+    void findAllById_ShouldUsePrimaryKey() {
+        // When
+        List<String> plans = explain(
+                () -> productRepository.findAllById(List.of(1L, 2L, 3L, 4L)),
+                1L, 2L, 3L, 4L);
+
+        // Then
+        assertUsesIndex(plans, "products_pkey");
+    }
+
+    /**
+     * Run the repository call, then EXPLAIN each distinct statement it issued with the given parameters
+     */
+    private List<String> explain(Runnable repositoryCall, Object... parameters) {
+        Set<String> statements;
+        SqlStatementCounter.Stats stats = SqlStatementCounter.begin();
+        try {
+            repositoryCall.run();
+            statements = stats.statements().keySet();
+        } finally {
+            SqlStatementCounter.end();
+        }
+        assertFalse(statements.isEmpty(), "Repository call issued no SQL");
+
+        return statements.stream()
+                .map(sql -> String.join("\n", jdbcTemplate.queryForList(
+                        "EXPLAIN " + sql, String.class, parametersFor(sql, parameters))))
+                .collect(Collectors.toList());
+    }
+
+    private static Object[] parametersFor(String sql, Object[] parameters) {
+        int placeholders = (int) sql.chars().filter(c -> c == '?').count();
+        Object[] bound = new Object[placeholders];
+        System.arraycopy(parameters, 0, bound, 0, Math.min(placeholders, parameters.length));
+        return bound;
+    }
+
+    private static void assertUsesIndex(List<String> plans, String indexName) {
+        assertNoSequentialScan(plans);
+        assertTrue(plans.stream().allMatch(plan -> plan.contains(" using " + indexName) || plan.contains(" on " + indexName)),
+                () -> "Expected " + indexName + " in:\n" + String.join("\n\n", plans));
+    }
+
+    private static void assertUsesActivePartialIndex(List<String> plans) {
+        assertNoSequentialScan(plans);
+        assertTrue(plans.stream().allMatch(plan -> plan.contains("idx_products_active_")),
+                () -> "Expected an active partial index in:\n" + String.join("\n\n", plans));
+    }
+
+    private static void assertNoSequentialScan(List<String> plans) {
+        assertTrue(plans.stream().noneMatch(plan -> plan.contains("Seq Scan on products")),
+                () -> "Unexpected sequential scan in:\n" + String.join("\n\n", plans));
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
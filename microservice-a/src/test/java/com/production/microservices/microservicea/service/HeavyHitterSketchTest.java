@@ -0,0 +1,112 @@
+package com.production.microservices.microservicea.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HeavyHitterSketchTest {
+
+    @Test
+    void topKeys_ShouldReturnMostFrequentKeysInOrder() {
+        // Given
+        HeavyHitterSketch<Long> sketch = new HeavyHitterSketch<>(1024, 5);
+
+        // When
+        for (long id = 1; id <= 500; id++) {
+            sketch.record(id);
+        }
+        for (int i = 0; i < 300; i++) {
+            sketch.record(7L);
+        }
+        for (int i = 0; i < 200; i++) {
+            sketch.record(42L);
+        }
+
+        // Then
+        List<HeavyHitterSketch.HotKey<Long>> top = sketch.topKeys(2);
+        assertEquals(2, top.size());
+        assertEquals(7L, top.get(0).key());
+        assertEquals(42L, top.get(1).key());
+        assertTrue(top.get(0).count() >= 301);
+    }
+
+    @Test
+    void admit_ShouldPreferMoreFrequentCandidate() {
+        // Given
+        HeavyHitterSketch<String> sketch = new HeavyHitterSketch<>(1024, 5);
+        for (int i = 0; i < 10; i++) {
+            sketch.record("laptop");
+        }
+        sketch.record("lamp");
+
+        // When & Then
+        assertTrue(sketch.admit("laptop", "lamp"));
+        assertFalse(sketch.admit("lamp", "laptop"));
+    }
+
+    @Test
+    void decayIfDue_ShouldHalveCountsOnlyOncePerInterval() {
+        // Given
+        HeavyHitterSketch<String> sketch = new HeavyHitterSketch<>(16, 5);
+        for (int i = 0; i < 200; i++) {
+            sketch.record("laptop");
+        }
+        long before = sketch.estimate("laptop");
+
+        // When & Then
+        assertTrue(sketch.decayIfDue());
+        assertEquals(before >>> 1, sketch.estimate("laptop"));
+        assertFalse(sketch.decayIfDue());
+        assertEquals(before >>> 1, sketch.estimate("laptop"));
+        assertEquals(before >>> 1, sketch.topKeys(1).get(0).count());
+    }
+
+    @Test
+    void record_ShouldNotDecayOnTheRecordingThread() {
+        // Given
+        HeavyHitterSketch<String> sketch = new HeavyHitterSketch<>(16, 5);
+
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            sketch.record("laptop");
+        }
+
+        // Then
+        assertEquals(1_000, sketch.estimate("laptop"));
+    }
+
+    @Test
+    void record_ShouldCountEveryConcurrentReadOfATrackedKey() throws Exception {
+        // Given
+        HeavyHitterSketch<Long> sketch = new HeavyHitterSketch<>(1024, 5);
+        sketch.record(7L);
+        List<Future<?>> writers = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int thread = 0; thread < 8; thread++) {
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        sketch.record(7L);
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get(10, TimeUnit.SECONDS);
+            }
+        }
+
+        // Then: the tracked count only ever moves up, so the last raise wins
+        assertEquals(80_001, sketch.estimate(7L));
+        assertEquals(80_001, sketch.topKeys(1).get(0).count());
+    }
+}
@@ -0,0 +1,139 @@
+package com.production.microservices.microservicea.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Latency of the GET /api/v1/products reads, run one after the other versus forked
+ * through ParallelReads.
+ *
+ * Tagged "benchmark" and excluded from `test`; run it with `./gradlew benchmark`.
+ * Both paths run the same service calls against the same seeded catalog, interleaved
+ * so drift in the container affects both equally, and their percentiles are printed.
+ * The forked path must not be slower at the median than the sequential one.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ParallelReadsBenchmarkTest {
+
+    private static final int CATALOG_SIZE = 5_000;
+    private static final int WARMUP_ITERATIONS = 100;
+    private static final int MEASURED_ITERATIONS = 500;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("microservice_a_test")
+            .withUsername("test_user")
+            .withPassword("test_password");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", postgres::getDriverClassName);
+    }
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ParallelReads parallelReads;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seedCatalog() {
+        jdbcTemplate.update("""
+                INSERT INTO products (name, description, price, quantity, active, created_at, updated_at)
+                SELECT 'Benchmark product ' || i,
+                       'Seeded product number ' || i || ' for the parallel read benchmark',
+                       ((i * 7919) % 100000) / 100.0,
+                       (i * 31) % 1000,
+                       true,
+                       NOW(),
+                       NOW()
+                FROM generate_series(1, ?) AS i
+                """, CATALOG_SIZE);
+        jdbcTemplate.execute("VACUUM ANALYZE products");
+    }
+
+    @Test
+    void forkedReads_ShouldNotBeSlowerThanSequentialReads() {
+        // Given
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sequential();
+            forked();
+        }
+        long[] sequentialNanos = new long[MEASURED_ITERATIONS];
+        long[] forkedNanos = new long[MEASURED_ITERATIONS];
+
+        // When
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sequentialNanos[i] = time(this::sequential);
+            forkedNanos[i] = time(this::forked);
+        }
+
+        // Then
+        Arrays.sort(sequentialNanos);
+        Arrays.sort(forkedNanos);
+        System.out.printf(Locale.ROOT, "%-10s %10s %10s %10s%n", "ms", "p50", "p90", "p99");
+        print("sequential", sequentialNanos);
+        print("forked", forkedNanos);
+        assertTrue(percentile(forkedNanos, 50) <= percentile(sequentialNanos, 50),
+                "Forked reads were slower than sequential reads at the median");
+    }
+
+    private long sequential() {
+        return productService.getAllActiveProducts().size() + productService.getTotalActiveProductsCount();
+    }
+
+    private long forked() {
+        return parallelReads.both(
+                productService::getAllActiveProducts,
+                productService::getTotalActiveProductsCount,
+                (products, count) -> products.size() + count);
+    }
+
+    private static long time(Runnable call) {
+        long start = System.nanoTime();
+        call.run();
+        return System.nanoTime() - start;
+    }
+
+    private static void print(String name, long[] sortedNanos) {
+        System.out.printf(Locale.ROOT, "%-10s %10.3f %10.3f %10.3f%n", name,
+                millis(percentile(sortedNanos, 50)), millis(percentile(sortedNanos, 90)),
+                millis(percentile(sortedNanos, 99)));
+    }
+
+    private static long percentile(long[] sortedNanos, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,106 @@
+package com.production.microservices.microservicea.service;
+
+import com.production.microservices.microservicea.config.SqlStatementCounter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelReadsTest {
+
+    private static final long READ_MILLIS = 200;
+
+    @Test
+    void both_ShouldRunReadsConcurrently() {
+        // Given: each read waits until the other has started, which only works if they overlap
+        ParallelReads parallelReads = new ParallelReads(Duration.ofSeconds(5));
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        // When
+        String result = parallelReads.both(
+                () -> overlappingRead(bothStarted, "products"),
+                () -> overlappingRead(bothStarted, "count"),
+                (first, second) -> first + "+" + second);
+
+        // Then
+        assertEquals("products+count", result);
+    }
+
+    @Test
+    void both_ShouldCancelSiblingAndRethrowFailure() {
+        // Given
+        ParallelReads parallelReads = new ParallelReads(Duration.ofSeconds(5));
+        AtomicBoolean siblingInterrupted = new AtomicBoolean();
+
+        // When
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () ->
+                parallelReads.both(
+                        () -> {
+                            throw new IllegalArgumentException("boom");
+                        },
+                        () -> {
+                            try {
+                                Thread.sleep(5_000);
+                            } catch (InterruptedException e) {
+                                siblingInterrupted.set(true);
+                            }
+                            return "late";
+                        },
+                        (first, second) -> second));
+
+        // Then
+        assertEquals("boom", thrown.getMessage());
+        assertTrue(siblingInterrupted.get());
+    }
+
+    @Test
+    void both_ShouldFailWhenDeadlinePasses() {
+        // Given
+        ParallelReads parallelReads = new ParallelReads(Duration.ofMillis(50));
+
+        // When / Then
+        assertThrows(RuntimeException.class, () ->
+                parallelReads.both(() -> slowRead("a"), () -> slowRead("b"), (first, second) -> first));
+    }
+
+    @Test
+    void both_ShouldRunReadsInCallersStatementScope() {
+        // Given
+        ParallelReads parallelReads = new ParallelReads(Duration.ofSeconds(5));
+        SqlStatementCounter.Stats stats = SqlStatementCounter.begin();
+
+        try {
+            // When
+            Boolean sameScope = parallelReads.both(
+                    SqlStatementCounter::current,
+                    SqlStatementCounter::current,
+                    (first, second) -> first == stats && second == stats);
+
+            // Then
+            assertTrue(sameScope);
+            assertSame(stats, SqlStatementCounter.current());
+        } finally {
+            SqlStatementCounter.end();
+        }
+    }
+
+    private static String overlappingRead(CountDownLatch bothStarted, String value) throws InterruptedException {
+        bothStarted.countDown();
+        if (!bothStarted.await(2, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Reads did not overlap");
+        }
+        return value;
+    }
+
+    private static String slowRead(String value) throws InterruptedException {
+        Thread.sleep(READ_MILLIS);
+        return value;
+    }
+}
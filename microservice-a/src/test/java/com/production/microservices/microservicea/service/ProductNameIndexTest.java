@@ -0,0 +1,109 @@
+package com.production.microservices.microservicea.service;
+
+import com.production.microservices.microservicea.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductNameIndexTest {
+
+    private ProductNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // The repository is only used by the periodic rebuild, which these tests do not start
+        index = new ProductNameIndex(null, 3, Duration.ofMinutes(5));
+        index.put(1L, "Wireless Mouse", true);
+        index.put(2L, "Webcam HD", true);
+        index.put(3L, "Wireless Keyboard", true);
+        index.put(4L, "Mechanical Keyboard", true);
+    }
+
+    @Test
+    void suggest_ShouldMatchNamePrefixShortestFirst() {
+        assertEquals(List.of("Wireless Mouse", "Wireless Keyboard"), index.suggest("wire", 5));
+        assertEquals(List.of("Webcam HD", "Wireless Mouse", "Wireless Keyboard"), index.suggest("w", 5));
+    }
+
+    @Test
+    void suggest_ShouldMatchLaterWords() {
+        assertEquals(List.of("Wireless Keyboard", "Mechanical Keyboard"), index.suggest("KEY", 5));
+        assertEquals(List.of("Wireless Mouse"), index.suggest("mou", 5));
+    }
+
+    @Test
+    void put_ShouldApplyRenamesAndDeactivations() {
+        // When
+        index.put(1L, "Gaming Mouse", true);
+        index.put(3L, "Wireless Keyboard", false);
+
+        // Then
+        assertTrue(index.suggest("wire", 5).isEmpty());
+        assertEquals(List.of("Gaming Mouse"), index.suggest("mouse", 5));
+        assertEquals(List.of("Mechanical Keyboard"), index.suggest("keyboard", 5));
+    }
+
+    @Test
+    void suggest_ShouldReturnEachNameOnceForDuplicateProducts() {
+        // When
+        index.put(5L, "Webcam HD", true);
+        index.put(2L, "Webcam HD", false);
+
+        // Then
+        assertEquals(List.of("Webcam HD"), index.suggest("webcam", 5));
+    }
+
+    @Test
+    void rebuild_ShouldKeepPutsThatArriveWhileTheSnapshotIsRead() {
+        // Given: puts land after the snapshot query ran but before the rebuilt tree is swapped in
+        ProductRepository productRepository = mock(ProductRepository.class);
+        ProductNameIndex rebuilding = new ProductNameIndex(productRepository, 3, Duration.ofMinutes(5));
+        rebuilding.put(1L, "Wireless Mouse", true);
+        when(productRepository.findActiveProductNames()).thenAnswer(invocation -> {
+            rebuilding.put(9L, "Bluetooth Speaker", true);
+            rebuilding.put(1L, "Gaming Mouse", true);
+            rebuilding.put(2L, "Webcam HD", false);
+            return List.of(nameView(1L, "Wireless Mouse"), nameView(2L, "Webcam HD"));
+        });
+
+        // When
+        rebuilding.rebuild();
+
+        // Then
+        assertEquals(List.of("Bluetooth Speaker"), rebuilding.suggest("blue", 5));
+        assertEquals(List.of("Gaming Mouse"), rebuilding.suggest("mouse", 5));
+        assertTrue(rebuilding.suggest("wire", 5).isEmpty());
+        assertTrue(rebuilding.suggest("webcam", 5).isEmpty());
+
+        // Puts after the rebuild still reach the live tree
+        rebuilding.put(9L, "Bluetooth Speaker", false);
+        assertTrue(rebuilding.suggest("blue", 5).isEmpty());
+    }
+
+    @Test
+    void suggest_ShouldReturnNothingForNonPositiveLimit() {
+        assertTrue(index.suggest("w", 0).isEmpty());
+        assertTrue(index.suggest("w", -1).isEmpty());
+    }
+
+    private static ProductRepository.ProductNameView nameView(Long id, String name) {
+        return new ProductRepository.ProductNameView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+        };
+    }
+}
@@ -0,0 +1,188 @@
+package com.production.microservices.microservicea.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestCoalescerTest {
+
+    private static final int FOLLOWERS = 4;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_ShouldShareOneLoadAcrossConcurrentIdenticalCalls() throws Exception {
+        // Given
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, true, 5_000);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        Object result = new Object();
+
+        // When
+        Future<Object> leader = executor.submit(() -> coalescer.execute("getById", 1L, () -> {
+            loads.incrementAndGet();
+            loadStarted.countDown();
+            await(releaseLoad);
+            return result;
+        }));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+        List<Future<Object>> followers = new ArrayList<>();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            followers.add(executor.submit(() -> coalescer.execute("getById", 1L, () -> {
+                loads.incrementAndGet();
+                return new Object();
+            })));
+        }
+        awaitCalls("getById", "follower", FOLLOWERS);
+        releaseLoad.countDown();
+
+        // Then
+        assertSame(result, leader.get(5, TimeUnit.SECONDS));
+        for (Future<Object> follower : followers) {
+            assertSame(result, follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals((double) FOLLOWERS / (FOLLOWERS + 1), coalescer.coalescingRatio(), 1e-9);
+    }
+
+    @Test
+    void execute_ShouldPropagateLeaderFailureToEveryFollower() throws Exception {
+        // Given
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, true, 5_000);
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("database unavailable");
+
+        // When
+        Future<Object> leader = executor.submit(() -> coalescer.execute("search", "mouse", () -> {
+            loadStarted.countDown();
+            await(releaseLoad);
+            throw failure;
+        }));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+        List<Future<Object>> followers = new ArrayList<>();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            followers.add(executor.submit(() -> coalescer.execute("search", "mouse", Object::new)));
+        }
+        awaitCalls("search", "follower", FOLLOWERS);
+        releaseLoad.countDown();
+
+        // Then
+        assertSame(failure, causeOf(leader));
+        for (Future<Object> follower : followers) {
+            assertSame(failure, causeOf(follower));
+        }
+    }
+
+    @Test
+    void execute_ShouldTimeOutFollowerAfterMaxWait() throws Exception {
+        // Given
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, true, 50);
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        Future<Object> leader = executor.submit(() -> coalescer.execute("lowStock", 10, () -> {
+            loadStarted.countDown();
+            await(releaseLoad);
+            return "leader";
+        }));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+        // When & Then
+        assertThrows(RequestCoalescer.CoalescingTimeoutException.class,
+                () -> coalescer.execute("lowStock", 10, () -> "follower"));
+        assertEquals(1.0, meterRegistry.counter("product.coalescing.calls",
+                "operation", "lowStock", "role", "timeout").count());
+
+        releaseLoad.countDown();
+        assertEquals("leader", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void execute_ShouldNotRetainResultsAfterCompletion() {
+        // Given
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, true, 5_000);
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        coalescer.execute("getById", 1L, loads::incrementAndGet);
+        coalescer.execute("getById", 1L, loads::incrementAndGet);
+
+        // Then
+        assertEquals(2, loads.get());
+        assertEquals(0.0, meterRegistry.get("product.coalescing.inflight").gauge().value());
+        assertEquals(0.0, coalescer.coalescingRatio());
+    }
+
+    @Test
+    void execute_ShouldKeepDifferentKeysApart() {
+        // Given
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, true, 5_000);
+
+        // When & Then
+        assertEquals("one", coalescer.execute("getById", 1L, () -> "one"));
+        assertEquals("two", coalescer.execute("getById", 2L, () -> "two"));
+        assertEquals("range", coalescer.execute("priceRange", 1L, () -> "range"));
+    }
+
+    @Test
+    void execute_ShouldCallLoaderDirectlyWhenDisabled() {
+        // Given
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, false, 5_000);
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        coalescer.execute("getById", 1L, loads::incrementAndGet);
+
+        // Then
+        assertEquals(1, loads.get());
+        assertEquals(0, meterRegistry.find("product.coalescing.calls").counters().size());
+    }
+
+    private void awaitCalls(String operation, String role, int expected)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("product.coalescing.calls", "operation", operation, "role", role).count() < expected) {
+            assertTrue(System.nanoTime() < deadline, "Followers did not join the in-flight load");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Throwable causeOf(Future<?> future) {
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, thrown.getCause());
+        return thrown.getCause();
+    }
+}
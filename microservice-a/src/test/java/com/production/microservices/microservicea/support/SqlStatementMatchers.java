@@ -0,0 +1,46 @@
+package com.production.microservices.microservicea.support;
+
+import com.production.microservices.microservicea.config.SqlStatementCounter;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MockMvc result matchers for the SQL statements a request ran, e.g.
+ * {@code .andExpect(SqlStatementMatchers.statementCount(1))}.
+ * Requires the filter chain (SqlStatementBudgetFilter) to be active in MockMvc.
+ */
+public final class SqlStatementMatchers {
+
+    private SqlStatementMatchers() {
+    }
+
+    public static ResultMatcher statementCount(int expected) {
+        return result -> {
+            SqlStatementCounter.Stats stats = stats(result);
+            assertEquals(expected, stats.statementCount(),
+                    () -> describe(result) + " ran " + stats.statementCount() + " statements: " + stats.statements());
+        };
+    }
+
+    public static ResultMatcher statementCountAtMost(int maximum) {
+        return result -> {
+            SqlStatementCounter.Stats stats = stats(result);
+            assertTrue(stats.statementCount() <= maximum,
+                    () -> describe(result) + " ran " + stats.statementCount() + " statements: " + stats.statements());
+        };
+    }
+
+    private static SqlStatementCounter.Stats stats(MvcResult result) {
+        Object stats = result.getRequest().getAttribute(SqlStatementCounter.REQUEST_ATTRIBUTE);
+        assertNotNull(stats, "No SQL statement stats on request; is SqlStatementBudgetFilter registered?");
+        return (SqlStatementCounter.Stats) stats;
+    }
+
+    private static String describe(MvcResult result) {
+        return result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+    }
+}